@@ -0,0 +1,26 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.io.OutputStream;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+class BlackholeOutputStream extends OutputStream {
+
+    private final Blackhole blackhole;
+
+    BlackholeOutputStream(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int b) {
+        blackhole.consume(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        blackhole.consume(b);
+        blackhole.consume(len);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bookbrew.product.service.BookBrewProductServiceApplication;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.model.ProductImage;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    static final int PRODUCT_COUNT = 1000;
+
+    static final int IMAGES_PER_PRODUCT = 2;
+
+    ConfigurableApplicationContext context;
+
+    List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // the test classpath supplies the H2 datasource in MySQL mode, see src/test/resources/config
+        SpringApplication application = new SpringApplication(BookBrewProductServiceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN");
+
+        Category category = new Category();
+        category.setDescription("Benchmark books");
+        category.setStatus(true);
+        context.getBean(CategoryRepository.class).save(category);
+
+        Brand brand = new Brand();
+        brand.setDescription("Benchmark brand");
+        brand.setStatus(true);
+        context.getBean(BrandRepository.class).save(brand);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(newProduct(i, category, brand));
+        }
+        productIds = new ArrayList<>();
+        context.getBean(ProductRepository.class).saveAll(products).forEach(product -> productIds.add(product.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private Product newProduct(int index, Category category, Brand brand) {
+        Product product = new Product();
+        product.setCode("BENCH-" + index);
+        product.setTitle("Benchmark product " + index);
+        product.setDescription("Description of benchmark product " + index);
+        product.setPrice(10.0 + index % 90);
+        product.setStock(100);
+        product.setMinimumStock(10);
+        product.setStatus(true);
+        product.setWeight(1.0);
+        product.setHeight(1.0);
+        product.setWidth(1.0);
+        product.setLength(1.0);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+
+        List<ProductImage> images = new ArrayList<>();
+        for (int i = 0; i < IMAGES_PER_PRODUCT; i++) {
+            ProductImage image = new ProductImage();
+            image.setDescription("Image " + i);
+            image.setProduct(product);
+            images.add(image);
+        }
+        product.setProductImages(images);
+        return product;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+final class ImagePayloads {
+
+    private ImagePayloads() {
+    }
+
+    static byte[] png(int approximateSize) {
+        // random pixels do not compress, so the encoded file ends up close to three bytes per pixel
+        int side = Math.max(1, (int) Math.sqrt(approximateSize / 3.0));
+        BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(approximateSize);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(approximateSize);
+        try {
+            ImageIO.write(image, "png", output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+}
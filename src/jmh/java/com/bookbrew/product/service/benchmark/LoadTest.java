@@ -0,0 +1,122 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    // usage: LoadTest <url> [concurrency] [duration seconds], run once against each threading mode and compare
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTest <url> [concurrency] [durationSeconds]");
+            System.exit(1);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        // a short unrecorded warmup lets the server compile its hot paths before measuring
+        run(client, request, concurrency, Duration.ofSeconds(5));
+        Result result = run(client, request, concurrency, duration);
+
+        long[] latencies = result.latencies;
+        Arrays.sort(latencies);
+        System.out.printf("url=%s concurrency=%d duration=%ds%n", uri, concurrency, duration.toSeconds());
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n", latencies.length, result.errors,
+                latencies.length / (double) duration.toSeconds());
+        System.out.printf("p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms%n", percentile(latencies, 0.50),
+                percentile(latencies, 0.90), percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> workers = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> worker(client, request, deadline)));
+            }
+
+            Result total = new Result(new long[0], 0);
+            for (Future<Result> worker : workers) {
+                total = total.merge(worker.get());
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Result worker(HttpClient client, HttpRequest request, long deadline) throws InterruptedException {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors++;
+                    continue;
+                }
+            } catch (IOException e) {
+                errors++;
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return new Result(Arrays.copyOf(latencies, count), errors);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static class Result {
+
+        private final long[] latencies;
+
+        private final int errors;
+
+        Result(long[] latencies, int errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+
+        Result merge(Result other) {
+            long[] merged = Arrays.copyOf(latencies, latencies.length + other.latencies.length);
+            System.arraycopy(other.latencies, 0, merged, latencies.length, other.latencies.length);
+            return new Result(merged, errors + other.errors);
+        }
+
+    }
+
+}
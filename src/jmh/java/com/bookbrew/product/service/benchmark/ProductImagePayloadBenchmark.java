@@ -0,0 +1,68 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bookbrew.product.service.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductImagePayloadBenchmark {
+
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    @Param({ "16384", "262144" })
+    private int imageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private byte[] image;
+
+    private String productJson;
+
+    @Setup
+    public void setUp() {
+        image = ImagePayloads.png(imageSize);
+
+        // image bytes are write-only on the entity, so they only ever travel as base64 inside update requests
+        StringBuilder json = new StringBuilder("{\"price\":42.0,\"productImages\":[");
+        for (int i = 0; i < IMAGES_PER_PRODUCT; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"description\":\"Image ").append(i).append("\",\"imageData\":\"")
+                    .append(Base64.getEncoder().encodeToString(image)).append("\"}");
+        }
+        productJson = json.append("]}").toString();
+    }
+
+    @Benchmark
+    public byte[] encodeImage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(image);
+    }
+
+    @Benchmark
+    public ProductDTO readProductWithImages() throws JsonProcessingException {
+        return objectMapper.readValue(productJson, ProductDTO.class);
+    }
+
+}
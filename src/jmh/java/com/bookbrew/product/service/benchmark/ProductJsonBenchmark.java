@@ -0,0 +1,107 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bookbrew.product.service.dto.ProductDTO;
+import com.bookbrew.product.service.dto.ProductPageDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.ProductImage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({ "20", "100", "500" })
+    private int pageSize;
+
+    // same defaults Spring Boot applies to the ObjectMapper used by the controllers
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private ProductPageDTO page;
+
+    private List<ProductDTO> products;
+
+    @Setup
+    public void setUp() {
+        Category category = new Category();
+        category.setId(1L);
+        category.setDescription("Benchmark books");
+        category.setStatus(true);
+
+        Brand brand = new Brand();
+        brand.setId(1L);
+        brand.setDescription("Benchmark brand");
+        brand.setStatus(true);
+
+        List<ProductSearchDTO> summaries = new ArrayList<>(pageSize);
+        products = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            LocalDateTime now = LocalDateTime.now();
+            ProductSearchDTO summary = new ProductSearchDTO(id, 0L, "BENCH-" + id, "Benchmark product " + id,
+                    "Description of benchmark product " + id, 19.9, 100, 0, 10, true, 1.0, 1.0, 1.0, 1.0, 0,
+                    category.getId(), brand.getId(), now, now, now);
+            summary.setProductImagesId(List.of(id * 2, id * 2 + 1));
+            summaries.add(summary);
+
+            ProductDTO product = new ProductDTO();
+            product.setId(id);
+            product.setCode(summary.getCode());
+            product.setTitle(summary.getTitle());
+            product.setDescription(summary.getDescription());
+            product.setPrice(summary.getPrice());
+            product.setStock(summary.getStock());
+            product.setMinimumStock(summary.getMinimumStock());
+            product.setStatus(true);
+            product.setCategory(category);
+            product.setBrand(brand);
+            List<ProductImage> images = new ArrayList<>();
+            for (long imageId : summary.getProductImagesId()) {
+                ProductImage image = new ProductImage();
+                image.setId(imageId);
+                image.setDescription("Image " + imageId);
+                images.add(image);
+            }
+            product.setProductImages(images);
+            products.add(product);
+        }
+        page = new ProductPageDTO(summaries, null);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeProductsWithAssociations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+}
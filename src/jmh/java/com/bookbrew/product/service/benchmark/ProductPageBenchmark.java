@@ -0,0 +1,52 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductPageDTO;
+import com.bookbrew.product.service.service.ProductService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductPageBenchmark {
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ProductService productService;
+
+    @Setup
+    public void setUp(CatalogState catalog) {
+        productService = catalog.getBean(ProductService.class);
+    }
+
+    @Benchmark
+    public ProductPageDTO findPage() {
+        return productService.findPage(null, pageSize, new ProductFilterDTO());
+    }
+
+    @Benchmark
+    public ProductPageDTO findFilteredPage() {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMinPrice(50.0);
+        filter.setStatus(true);
+        return productService.findPage(null, pageSize, filter);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.bookbrew.product.service.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.MediaType;
+
+import com.bookbrew.product.service.dto.ProductDTO;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.model.ProductImage;
+import com.bookbrew.product.service.repository.ProductRepository;
+import com.bookbrew.product.service.service.ProductExportService;
+import com.bookbrew.product.service.service.ProductService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    private ProductService productService;
+
+    private ProductExportService productExportService;
+
+    private ProductRepository productRepository;
+
+    private Long productId;
+
+    private ProductDTO update;
+
+    @Setup
+    public void setUp(CatalogState catalog) {
+        productService = catalog.getBean(ProductService.class);
+        productExportService = catalog.getBean(ProductExportService.class);
+        productRepository = catalog.getBean(ProductRepository.class);
+        productId = catalog.productIds.get(catalog.productIds.size() / 2);
+
+        // rewrites every existing image in place, so repeated invocations keep the product the same size
+        update = new ProductDTO();
+        update.setPrice(42.0);
+        List<ProductImage> images = new ArrayList<>();
+        for (ProductImage existing : productRepository.findWithDetailsById(productId).orElseThrow().getProductImages()) {
+            ProductImage image = new ProductImage();
+            image.setId(existing.getId());
+            image.setDescription(existing.getDescription());
+            image.setImageData(ImagePayloads.png(16 * 1024));
+            images.add(image);
+        }
+        update.setProductImages(images);
+    }
+
+    @Benchmark
+    public Product findWithDetails() {
+        return productRepository.findWithDetailsById(productId).orElseThrow();
+    }
+
+    @Benchmark
+    public Product updateWithImages() {
+        return productService.update(productId, update, null);
+    }
+
+    @Benchmark
+    public void exportNdjson(Blackhole blackhole) throws IOException {
+        productExportService.exportProducts(new BlackholeOutputStream(blackhole), MediaType.APPLICATION_NDJSON);
+    }
+
+}
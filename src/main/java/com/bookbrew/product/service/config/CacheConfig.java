@@ -0,0 +1,54 @@
+package com.bookbrew.product.service.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+
+    public static final String CATEGORY_LIST = "categoryList";
+
+    public static final String BRANDS = "brands";
+
+    public static final String BRAND_LIST = "brandList";
+
+    public static final String PRODUCTS = "products";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${bookbrew.cache.reference.maximum-size}") long referenceMaximumSize,
+            @Value("${bookbrew.cache.reference.expire-after-write}") Duration referenceExpireAfterWrite,
+            @Value("${bookbrew.cache.products.maximum-size}") long productsMaximumSize,
+            @Value("${bookbrew.cache.products.expire-after-write}") Duration productsExpireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        for (String name : new String[] { CATEGORIES, CATEGORY_LIST, BRANDS, BRAND_LIST }) {
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumSize(referenceMaximumSize)
+                    .expireAfterWrite(referenceExpireAfterWrite)
+                    .recordStats()
+                    .build());
+        }
+        cacheManager.registerCustomCache(PRODUCTS, Caffeine.newBuilder()
+                .maximumSize(productsMaximumSize)
+                .expireAfterWrite(productsExpireAfterWrite)
+                .recordStats()
+                .build());
+
+        // evictions issued inside a transaction are applied after commit, so a concurrent
+        // read cannot repopulate an entry with the state the transaction is replacing
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+}
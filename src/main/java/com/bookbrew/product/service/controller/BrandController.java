@@ -3,6 +3,7 @@ package com.bookbrew.product.service.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -33,7 +35,8 @@ public class BrandController {
 
     @GetMapping("/{id}")
     public ResponseEntity<Brand> getBrandById(@PathVariable Long id) {
-        return ResponseEntity.ok(brandService.getBrandById(id));
+        Brand brand = brandService.getBrandById(id);
+        return ResponseEntity.ok().eTag(String.valueOf(brand.getVersion())).body(brand);
     }
 
     @PostMapping
@@ -43,8 +46,10 @@ public class BrandController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Brand> updateBrand(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Brand brand) {
-        return ResponseEntity.ok(brandService.updateBrand(id, brand));
+        Brand updated = brandService.updateBrand(id, brand, ETags.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -3,6 +3,7 @@ package com.bookbrew.product.service.controller;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -33,7 +35,8 @@ public class CategoryController {
 
     @GetMapping("/{id}")
     public ResponseEntity<Category> getCategoryById(@PathVariable Long id) {
-        return ResponseEntity.ok(categoryService.getCategoryById(id));
+        Category category = categoryService.getCategoryById(id);
+        return ResponseEntity.ok().eTag(String.valueOf(category.getVersion())).body(category);
     }
 
     @PostMapping
@@ -43,8 +46,10 @@ public class CategoryController {
 
     @PutMapping("/{id}")
     public ResponseEntity<Category> updateCategory(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Category category) {
-        return ResponseEntity.ok(categoryService.updateCategory(id, category));
+        Category updated = categoryService.updateCategory(id, category, ETags.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(updated.getVersion())).body(updated);
     }
 
     @DeleteMapping("/{id}")
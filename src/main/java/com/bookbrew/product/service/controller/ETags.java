@@ -0,0 +1,36 @@
+package com.bookbrew.product.service.controller;
+
+import com.bookbrew.product.service.exception.PreconditionFailedException;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String parse(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/") || tag.contains(",") || tag.length() < 2
+                || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong entity tag: " + ifMatch);
+        }
+        return tag.substring(1, tag.length() - 1);
+    }
+
+    static Long parseVersion(String ifMatch) {
+        String tag = parse(ifMatch);
+        if (tag == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+        }
+    }
+
+}
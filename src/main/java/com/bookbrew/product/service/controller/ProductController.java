@@ -1,11 +1,20 @@
 package com.bookbrew.product.service.controller;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,14 +23,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.bookbrew.product.service.dto.ChangeFeedDTO;
 import com.bookbrew.product.service.dto.ProductDTO;
+import com.bookbrew.product.service.dto.ProductFacetsDTO;
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductImageContentDTO;
 import com.bookbrew.product.service.dto.ProductImageDTO;
+import com.bookbrew.product.service.dto.ProductImportResultDTO;
 import com.bookbrew.product.service.dto.ProductImagesSearchDTO;
+import com.bookbrew.product.service.dto.ProductPageDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.ProductSearchResultDTO;
+import com.bookbrew.product.service.dto.ProductUpsertResultDTO;
+import com.bookbrew.product.service.dto.StockChangeDTO;
+import com.bookbrew.product.service.dto.SuggestionDTO;
+import com.bookbrew.product.service.dto.TopSellerDTO;
 import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.service.ChangeFeedService;
+import com.bookbrew.product.service.service.ProductExportService;
+import com.bookbrew.product.service.service.ProductImportService;
+import com.bookbrew.product.service.service.ProductSearchService;
 import com.bookbrew.product.service.service.ProductService;
+import com.bookbrew.product.service.service.ProductStockService;
 
 import jakarta.validation.Valid;
 
@@ -33,14 +64,106 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        return ResponseEntity.ok(productService.findAll());
+    public ResponseEntity<ProductPageDTO> getProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @ModelAttribute ProductFilterDTO filter,
+            WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            // answered from the newest modification alone, so an unchanged catalog costs no page query
+            LocalDateTime lastModified = productService.findLastModified().orElse(null);
+            if (lastModified != null && request.checkNotModified(toEpochMilli(lastModified))) {
+                return null;
+            }
+            return ResponseEntity.ok(productService.findPage(cursor, size, filter));
+        }
+
+        // unconditional requests skip the catalog-wide aggregates and are stamped with the newest row on the page,
+        // never later than the catalog as a whole, so a revalidation can only err towards a full response
+        ProductPageDTO page = productService.findPage(cursor, size, filter);
+        return page.getProducts().stream()
+                .map(ProductSearchDTO::getLastModified)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .map(lastModified -> ResponseEntity.ok().lastModified(toEpochMilli(lastModified)).body(page))
+                .orElseGet(() -> ResponseEntity.ok(page));
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<ProductPageDTO> getLowStockProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.findLowStockPage(cursor, size));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedDTO> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(changeFeedService.findChanges(since, limit));
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<TopSellerDTO>> getTopSellers(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(productSearchService.topSellers(categoryId, k));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResultDTO> searchProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @ModelAttribute ProductFilterDTO filter) {
+        return ResponseEntity.ok(productSearchService.search(q, filter, page, size));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDTO> getProductFacets(
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Integer limit,
+            @ModelAttribute ProductFilterDTO filter) {
+        return ResponseEntity.ok(productSearchService.facets(filter, inStock, limit));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDTO>> suggestProducts(@RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productSearchService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        MediaType mediaType = productExportService.resolveFormat(format);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + format.toLowerCase() + "\"")
+                .body(output -> productExportService.exportProducts(output, mediaType));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.findById(id));
+    public ResponseEntity<ProductSearchDTO> getProductById(@PathVariable Long id) {
+        ProductSearchDTO product = productService.findById(id);
+        return ResponseEntity.ok().eTag(String.valueOf(product.getVersion())).body(product);
     }
 
     @PostMapping
@@ -48,10 +171,25 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(productService.createProduct(product));
     }
 
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE,
+            ProductImportService.TEXT_CSV_VALUE })
+    public ResponseEntity<ProductImportResultDTO> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        return ResponseEntity.ok(productImportService.importProducts(body, MediaType.parseMediaType(contentType)));
+    }
+
+    @PutMapping("/upsert")
+    public ResponseEntity<ProductUpsertResultDTO> upsertProducts(@RequestBody List<ProductDTO> products) {
+        return ResponseEntity.ok(productService.upsertByCode(products));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Product> updateProduct(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductDTO productDTO) {
-        return ResponseEntity.ok(productService.update(id, productDTO));
+        Product product = productService.update(id, productDTO, ETags.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(product.getVersion())).body(product);
     }
 
     @DeleteMapping("/{id}")
@@ -60,14 +198,72 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/stock/reserve")
+    public ResponseEntity<Void> reserveStock(@PathVariable Long id, @RequestBody StockChangeDTO stockChangeDTO) {
+        stockChangeDTO.setProductId(id);
+        productStockService.reserve(List.of(stockChangeDTO));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/stock/release")
+    public ResponseEntity<Void> releaseStock(@PathVariable Long id, @RequestBody StockChangeDTO stockChangeDTO) {
+        stockChangeDTO.setProductId(id);
+        productStockService.release(List.of(stockChangeDTO));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/stock/commit")
+    public ResponseEntity<Void> commitStock(@PathVariable Long id, @RequestBody StockChangeDTO stockChangeDTO) {
+        stockChangeDTO.setProductId(id);
+        productStockService.commit(List.of(stockChangeDTO));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{id}/sales")
+    public ResponseEntity<Void> recordSales(@PathVariable Long id, @RequestBody StockChangeDTO stockChangeDTO) {
+        stockChangeDTO.setProductId(id);
+        productStockService.recordSales(List.of(stockChangeDTO));
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/stock/reserve")
+    public ResponseEntity<Void> reserveStock(@RequestBody List<StockChangeDTO> stockChanges) {
+        productStockService.reserve(stockChanges);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/stock/release")
+    public ResponseEntity<Void> releaseStock(@RequestBody List<StockChangeDTO> stockChanges) {
+        productStockService.release(stockChanges);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/stock/commit")
+    public ResponseEntity<Void> commitStock(@RequestBody List<StockChangeDTO> stockChanges) {
+        productStockService.commit(stockChanges);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/sales")
+    public ResponseEntity<Void> recordSales(@RequestBody List<StockChangeDTO> sales) {
+        productStockService.recordSales(sales);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/images")
     public ResponseEntity<List<ProductImagesSearchDTO>> getAllProductImages() {
         return ResponseEntity.ok(productService.findAllProductImages());
     }
 
-    @GetMapping(value = "/images/{id}", produces = MediaType.IMAGE_JPEG_VALUE)
-    public ResponseEntity<byte[]> getProductImageById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.findByIdProductImage(id));
+    @GetMapping("/images/{id}")
+    public ResponseEntity<Resource> getProductImageById(@PathVariable Long id,
+            @RequestParam(required = false) Integer size) {
+        ProductImageContentDTO image = productService.findProductImageContent(id, size);
+        return ResponseEntity.ok()
+                .eTag(image.getContentHash())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.parseMediaType(image.getContentType()))
+                .body(image.getContent());
     }
 
     @PostMapping(value = "/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -77,12 +273,29 @@ public class ProductController {
                 .body(productService.createProductImage(productImageDTO));
     }
 
+    @GetMapping("/{productId}/images")
+    public ResponseEntity<List<ProductImagesSearchDTO>> getProductImages(@PathVariable Long productId) {
+        return ResponseEntity.ok(productService.findProductImages(productId));
+    }
+
+    @PostMapping(value = "/{productId}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<List<ProductImagesSearchDTO>> createProductImages(@PathVariable Long productId,
+            @RequestParam(required = false) List<MultipartFile> images,
+            @RequestParam MultiValueMap<String, String> form) {
+        // raw form values, binding a single description to a list would split it on commas
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(productService.createProductImages(productId, images, form.get("descriptions")));
+    }
+
     @PutMapping(value = "/{productId}/images/{imageId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ProductImagesSearchDTO> updateProductImage(
             @PathVariable Long productId,
             @PathVariable Long imageId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @ModelAttribute ProductImageDTO productImageDTO) {
-        return ResponseEntity.ok(productService.updateProductImage(productId, imageId, productImageDTO));
+        ProductImagesSearchDTO image = productService.updateProductImage(productId, imageId, productImageDTO,
+                ETags.parseVersion(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(image.getVersion())).body(image);
     }
 
     @DeleteMapping("/{productId}/images/{imageId}")
@@ -93,4 +306,8 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
 }
@@ -0,0 +1,54 @@
+package com.bookbrew.product.service.dto;
+
+import java.time.LocalDateTime;
+
+public class ChangeEventDTO {
+
+    private Long sequence;
+
+    private String entityType;
+
+    private Long entityId;
+
+    private LocalDateTime creationDate;
+
+    public ChangeEventDTO(Long sequence, String entityType, Long entityId, LocalDateTime creationDate) {
+        this.sequence = sequence;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.creationDate = creationDate;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+}
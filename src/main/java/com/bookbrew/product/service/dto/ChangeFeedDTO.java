@@ -0,0 +1,54 @@
+package com.bookbrew.product.service.dto;
+
+import java.util.List;
+
+public class ChangeFeedDTO {
+
+    private List<ChangeEventDTO> changes;
+
+    private Integer size;
+
+    private Long nextSince;
+
+    private Boolean hasMore;
+
+    public ChangeFeedDTO(List<ChangeEventDTO> changes, Long nextSince, Boolean hasMore) {
+        this.changes = changes;
+        this.size = changes.size();
+        this.nextSince = nextSince;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChangeEventDTO> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ChangeEventDTO> changes) {
+        this.changes = changes;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(Long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.bookbrew.product.service.dto;
+
+public class FacetValueDTO {
+
+    private String value;
+
+    private long count;
+
+    public FacetValueDTO() {
+    }
+
+    public FacetValueDTO(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+}
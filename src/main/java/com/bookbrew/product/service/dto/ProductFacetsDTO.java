@@ -0,0 +1,68 @@
+package com.bookbrew.product.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductFacetsDTO {
+
+    private long total;
+
+    private List<Long> ids = new ArrayList<>();
+
+    private List<FacetValueDTO> categories = new ArrayList<>();
+
+    private List<FacetValueDTO> brands = new ArrayList<>();
+
+    private List<FacetValueDTO> prices = new ArrayList<>();
+
+    private List<FacetValueDTO> availability = new ArrayList<>();
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<FacetValueDTO> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<FacetValueDTO> categories) {
+        this.categories = categories;
+    }
+
+    public List<FacetValueDTO> getBrands() {
+        return brands;
+    }
+
+    public void setBrands(List<FacetValueDTO> brands) {
+        this.brands = brands;
+    }
+
+    public List<FacetValueDTO> getPrices() {
+        return prices;
+    }
+
+    public void setPrices(List<FacetValueDTO> prices) {
+        this.prices = prices;
+    }
+
+    public List<FacetValueDTO> getAvailability() {
+        return availability;
+    }
+
+    public void setAvailability(List<FacetValueDTO> availability) {
+        this.availability = availability;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bookbrew.product.service.dto;
+
+import org.springframework.core.io.Resource;
+
+public class ProductImageContentDTO {
+
+    private Long id;
+
+    private String contentType;
+
+    private Long contentLength;
+
+    private String contentHash;
+
+    private Resource content;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Resource getContent() {
+        return content;
+    }
+
+    public void setContent(Resource content) {
+        this.content = content;
+    }
+
+}
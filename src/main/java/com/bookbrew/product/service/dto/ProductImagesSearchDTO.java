@@ -4,9 +4,13 @@ public class ProductImagesSearchDTO {
 
     private Long id;
 
+    private Long version;
+
     private String description;
 
-    private byte[] image;
+    private String contentType;
+
+    private Long contentLength;
 
     private Long idProduct;
 
@@ -18,6 +22,14 @@ public class ProductImagesSearchDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -26,12 +38,20 @@ public class ProductImagesSearchDTO {
         this.description = description;
     }
 
-    public byte[] getImage() {
-        return image;
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
     }
 
     public Long getIdProduct() {
@@ -0,0 +1,164 @@
+package com.bookbrew.product.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductImportDTO {
+
+    @NotBlank(message = "Code is required")
+    private String code;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    @NotBlank(message = "Description is required")
+    private String description;
+
+    @NotNull(message = "Price is required")
+    private Double price;
+
+    @NotNull(message = "Stock is required")
+    private Integer stock;
+
+    @NotNull(message = "Minimum stock is required")
+    private Integer minimumStock;
+
+    @NotNull(message = "Status is required")
+    private Boolean status;
+
+    @NotNull(message = "Weight is required")
+    private Double weight;
+
+    @NotNull(message = "Height is required")
+    private Double height;
+
+    @NotNull(message = "Width is required")
+    private Double width;
+
+    @NotNull(message = "Length is required")
+    private Double length;
+
+    private Integer salesQuantity;
+
+    @NotNull(message = "Category is required")
+    private Long categoryId;
+
+    @NotNull(message = "Brand is required")
+    private Long brandId;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Integer getMinimumStock() {
+        return minimumStock;
+    }
+
+    public void setMinimumStock(Integer minimumStock) {
+        this.minimumStock = minimumStock;
+    }
+
+    public Boolean getStatus() {
+        return status;
+    }
+
+    public void setStatus(Boolean status) {
+        this.status = status;
+    }
+
+    public Double getWeight() {
+        return weight;
+    }
+
+    public void setWeight(Double weight) {
+        this.weight = weight;
+    }
+
+    public Double getHeight() {
+        return height;
+    }
+
+    public void setHeight(Double height) {
+        this.height = height;
+    }
+
+    public Double getWidth() {
+        return width;
+    }
+
+    public void setWidth(Double width) {
+        this.width = width;
+    }
+
+    public Double getLength() {
+        return length;
+    }
+
+    public void setLength(Double length) {
+        this.length = length;
+    }
+
+    public Integer getSalesQuantity() {
+        return salesQuantity;
+    }
+
+    public void setSalesQuantity(Integer salesQuantity) {
+        this.salesQuantity = salesQuantity;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getBrandId() {
+        return brandId;
+    }
+
+    public void setBrandId(Long brandId) {
+        this.brandId = brandId;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.bookbrew.product.service.dto;
+
+public class ProductImportErrorDTO {
+
+    private Long row;
+
+    private String code;
+
+    private String message;
+
+    public ProductImportErrorDTO(Long row, String code, String message) {
+        this.row = row;
+        this.code = code;
+        this.message = message;
+    }
+
+    public Long getRow() {
+        return row;
+    }
+
+    public void setRow(Long row) {
+        this.row = row;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+}
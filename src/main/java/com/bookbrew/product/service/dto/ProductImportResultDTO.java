@@ -0,0 +1,38 @@
+package com.bookbrew.product.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResultDTO {
+
+    private int imported;
+
+    private int rejected;
+
+    private List<ProductImportErrorDTO> errors = new ArrayList<>();
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<ProductImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ProductImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+}
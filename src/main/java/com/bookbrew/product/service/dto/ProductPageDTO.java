@@ -0,0 +1,43 @@
+package com.bookbrew.product.service.dto;
+
+import java.util.List;
+
+public class ProductPageDTO {
+
+    private List<ProductSearchDTO> products;
+
+    private Integer size;
+
+    private String nextCursor;
+
+    public ProductPageDTO(List<ProductSearchDTO> products, String nextCursor) {
+        this.products = products;
+        this.size = products.size();
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ProductSearchDTO> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductSearchDTO> products) {
+        this.products = products;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+}
@@ -7,6 +7,8 @@ public class ProductSearchDTO {
 
     private Long id;
 
+    private Long version;
+
     private String code;
 
     private String title;
@@ -17,6 +19,8 @@ public class ProductSearchDTO {
 
     private Integer stock;
 
+    private Integer reservedStock;
+
     private Integer minimumStock;
 
     private Boolean status;
@@ -41,6 +45,37 @@ public class ProductSearchDTO {
 
     private LocalDateTime updateDate;
 
+    private LocalDateTime lastModified;
+
+    public ProductSearchDTO() {
+    }
+
+    public ProductSearchDTO(Long id, Long version, String code, String title, String description, Double price, Integer stock,
+            Integer reservedStock, Integer minimumStock, Boolean status, Double weight, Double height, Double width, Double length,
+            Integer salesQuantity, Long categoryId, Long brandId, LocalDateTime creationDate,
+            LocalDateTime updateDate, LocalDateTime lastModified) {
+        this.id = id;
+        this.version = version;
+        this.code = code;
+        this.title = title;
+        this.description = description;
+        this.price = price;
+        this.stock = stock;
+        this.reservedStock = reservedStock;
+        this.minimumStock = minimumStock;
+        this.status = status;
+        this.weight = weight;
+        this.height = height;
+        this.width = width;
+        this.length = length;
+        this.salesQuantity = salesQuantity;
+        this.categoryId = categoryId;
+        this.brandId = brandId;
+        this.creationDate = creationDate;
+        this.updateDate = updateDate;
+        this.lastModified = lastModified;
+    }
+
     public Long getId() {
         return id;
     }
@@ -49,6 +84,14 @@ public class ProductSearchDTO {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getCode() {
         return code;
     }
@@ -89,6 +132,14 @@ public class ProductSearchDTO {
         this.stock = stock;
     }
 
+    public Integer getReservedStock() {
+        return reservedStock;
+    }
+
+    public void setReservedStock(Integer reservedStock) {
+        this.reservedStock = reservedStock;
+    }
+
     public Integer getMinimumStock() {
         return minimumStock;
     }
@@ -185,4 +236,12 @@ public class ProductSearchDTO {
         this.updateDate = updateDate;
     }
 
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
 }
@@ -0,0 +1,58 @@
+package com.bookbrew.product.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductSearchResultDTO {
+
+    private long total;
+
+    private List<ProductSearchHitDTO> hits = new ArrayList<>();
+
+    private List<FacetValueDTO> categories = new ArrayList<>();
+
+    private List<FacetValueDTO> brands = new ArrayList<>();
+
+    private List<FacetValueDTO> prices = new ArrayList<>();
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public List<ProductSearchHitDTO> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<ProductSearchHitDTO> hits) {
+        this.hits = hits;
+    }
+
+    public List<FacetValueDTO> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<FacetValueDTO> categories) {
+        this.categories = categories;
+    }
+
+    public List<FacetValueDTO> getBrands() {
+        return brands;
+    }
+
+    public void setBrands(List<FacetValueDTO> brands) {
+        this.brands = brands;
+    }
+
+    public List<FacetValueDTO> getPrices() {
+        return prices;
+    }
+
+    public void setPrices(List<FacetValueDTO> prices) {
+        this.prices = prices;
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.bookbrew.product.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductUpsertResultDTO {
+
+    private List<Long> createdIds = new ArrayList<>();
+
+    private List<Long> updatedIds = new ArrayList<>();
+
+    public List<Long> getCreatedIds() {
+        return createdIds;
+    }
+
+    public void setCreatedIds(List<Long> createdIds) {
+        this.createdIds = createdIds;
+    }
+
+    public List<Long> getUpdatedIds() {
+        return updatedIds;
+    }
+
+    public void setUpdatedIds(List<Long> updatedIds) {
+        this.updatedIds = updatedIds;
+    }
+
+}
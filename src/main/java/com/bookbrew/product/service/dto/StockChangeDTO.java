@@ -0,0 +1,25 @@
+package com.bookbrew.product.service.dto;
+
+public class StockChangeDTO {
+
+    private Long productId;
+
+    private Integer quantity;
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+}
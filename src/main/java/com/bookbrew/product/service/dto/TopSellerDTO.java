@@ -0,0 +1,81 @@
+package com.bookbrew.product.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public class TopSellerDTO {
+
+    private Long productId;
+
+    @JsonIgnore
+    private Long version;
+
+    private Long categoryId;
+
+    private String code;
+
+    private String title;
+
+    private long salesQuantity;
+
+    public TopSellerDTO() {
+    }
+
+    public TopSellerDTO(Long productId, Long version, Long categoryId, String code, String title,
+            long salesQuantity) {
+        this.productId = productId;
+        this.version = version;
+        this.categoryId = categoryId;
+        this.code = code;
+        this.title = title;
+        this.salesQuantity = salesQuantity;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public long getSalesQuantity() {
+        return salesQuantity;
+    }
+
+    public void setSalesQuantity(long salesQuantity) {
+        this.salesQuantity = salesQuantity;
+    }
+
+}
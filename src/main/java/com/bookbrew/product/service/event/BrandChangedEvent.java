@@ -0,0 +1,15 @@
+package com.bookbrew.product.service.event;
+
+public class BrandChangedEvent {
+
+    private final Long brandId;
+
+    public BrandChangedEvent(Long brandId) {
+        this.brandId = brandId;
+    }
+
+    public Long getBrandId() {
+        return brandId;
+    }
+
+}
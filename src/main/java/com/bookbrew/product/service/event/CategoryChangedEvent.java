@@ -0,0 +1,15 @@
+package com.bookbrew.product.service.event;
+
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+
+    public CategoryChangedEvent(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.bookbrew.product.service.event;
+
+import java.util.Collection;
+import java.util.List;
+
+public class ProductChangedEvent {
+
+    private final List<Long> productIds;
+
+    public ProductChangedEvent(Collection<Long> productIds) {
+        this.productIds = List.copyOf(productIds);
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+}
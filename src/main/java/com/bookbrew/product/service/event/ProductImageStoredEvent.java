@@ -0,0 +1,15 @@
+package com.bookbrew.product.service.event;
+
+public class ProductImageStoredEvent {
+
+    private final String storageKey;
+
+    public ProductImageStoredEvent(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+}
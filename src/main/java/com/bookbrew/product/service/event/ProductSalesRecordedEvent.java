@@ -0,0 +1,18 @@
+package com.bookbrew.product.service.event;
+
+import java.util.Collection;
+import java.util.List;
+
+public class ProductSalesRecordedEvent {
+
+    private final List<Long> productIds;
+
+    public ProductSalesRecordedEvent(Collection<Long> productIds) {
+        this.productIds = List.copyOf(productIds);
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bookbrew.product.service.exception;
+
+public class DuplicateCodeException extends RuntimeException {
+
+    public DuplicateCodeException(String message) {
+        super(message);
+    }
+
+}
@@ -2,11 +2,14 @@ package com.bookbrew.product.service.exception;
 
 import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import jakarta.validation.ConstraintViolationException;
 
@@ -48,6 +51,87 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(InsufficientStockException.class)
+        public ResponseEntity<ErrorResponse> handleInsufficientStockException(
+                        InsufficientStockException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Insufficient Stock",
+                                ex.getMessage(),
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+
+        @ExceptionHandler(PreconditionFailedException.class)
+        public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+                        PreconditionFailedException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Precondition Failed",
+                                ex.getMessage(),
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+        }
+
+        @ExceptionHandler(ResourceGoneException.class)
+        public ResponseEntity<ErrorResponse> handleResourceGoneException(
+                        ResourceGoneException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Gone",
+                                ex.getMessage(),
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+        }
+
+        @ExceptionHandler(PayloadTooLargeException.class)
+        public ResponseEntity<ErrorResponse> handlePayloadTooLargeException(
+                        PayloadTooLargeException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Payload Too Large",
+                                ex.getMessage(),
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        @ExceptionHandler(MaxUploadSizeExceededException.class)
+        public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceededException(
+                        MaxUploadSizeExceededException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Payload Too Large",
+                                "Upload exceeds the maximum allowed size",
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        @ExceptionHandler(OptimisticLockingFailureException.class)
+        public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+                        OptimisticLockingFailureException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Precondition Failed",
+                                "The resource was modified concurrently, reload it and retry",
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+        }
+
+        @ExceptionHandler(DuplicateCodeException.class)
+        public ResponseEntity<ErrorResponse> handleDuplicateCodeException(
+                        DuplicateCodeException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Duplicate Code",
+                                ex.getMessage(),
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+
+        // covers a unique index hit by a concurrent write after the service checks passed
+        @ExceptionHandler(DataIntegrityViolationException.class)
+        public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+                        DataIntegrityViolationException ex, WebRequest request) {
+                ErrorResponse errorResponse = new ErrorResponse(
+                                "Conflict",
+                                "The request conflicts with the current state of the resource",
+                                request.getDescription(false));
+                return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+        }
+
         @ExceptionHandler(Exception.class)
         public ResponseEntity<ErrorResponse> handleGlobalException(
                         Exception ex, WebRequest request) {
@@ -0,0 +1,9 @@
+package com.bookbrew.product.service.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bookbrew.product.service.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+
+}
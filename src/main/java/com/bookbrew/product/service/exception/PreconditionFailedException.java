@@ -0,0 +1,9 @@
+package com.bookbrew.product.service.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bookbrew.product.service.exception;
+
+public class ResourceGoneException extends RuntimeException {
+
+    public ResourceGoneException(String message) {
+        super(message);
+    }
+
+}
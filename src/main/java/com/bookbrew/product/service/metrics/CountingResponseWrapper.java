@@ -0,0 +1,79 @@
+package com.bookbrew.product.service.metrics;
+
+import java.io.IOException;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private CountingOutputStream outputStream;
+
+    CountingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    long getBytesWritten() {
+        if (outputStream != null) {
+            return outputStream.count;
+        }
+        // writer based responses such as error pages are not wrapped, fall back to the declared length
+        String contentLength = getHeader("Content-Length");
+        return contentLength != null ? Long.parseLong(contentLength) : 0;
+    }
+
+    private static class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private long count;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+    }
+
+}
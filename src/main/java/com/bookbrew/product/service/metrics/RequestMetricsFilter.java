@@ -0,0 +1,92 @@
+package com.bookbrew.product.service.metrics;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final double MAX_RESPONSE_SIZE = 64 * 1024 * 1024;
+
+    private static final double MAX_STATEMENTS = 1000;
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        StatementCountingDataSource.start();
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            // statements issued by async handlers run on other threads and are not attributed to the request
+            int statements = StatementCountingDataSource.stop();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, countingResponse, statements);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+
+                });
+            } else {
+                record(request, countingResponse, statements);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponseWrapper response, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.response.size")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("status", String.valueOf(response.getStatus()))
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_RESPONSE_SIZE)
+                .register(meterRegistry)
+                .record(response.getBytesWritten());
+
+        DistributionSummary.builder("http.server.requests.statements")
+                .description("JDBC statements prepared or executed while handling a request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_STATEMENTS)
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+}
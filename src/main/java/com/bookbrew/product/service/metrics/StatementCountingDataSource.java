@@ -0,0 +1,86 @@
+package com.bookbrew.product.service.metrics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// counts at the connection so JdbcTemplate work is seen as well as Hibernate's
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    private static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    switch (method.getName()) {
+                        case "prepareStatement", "prepareCall" -> increment();
+                        case "createStatement" -> result = countingStatement((Statement) result);
+                        default -> {
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    // a plain statement can run any number of SQL strings, so those are counted per execution
+    private static Statement countingStatement(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch" ->
+                            increment();
+                        default -> {
+                        }
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+}
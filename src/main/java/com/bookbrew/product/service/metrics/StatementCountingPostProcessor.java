@@ -0,0 +1,19 @@
+package com.bookbrew.product.service.metrics;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StatementCountingPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.bookbrew.product.service.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "change_events", indexes = @Index(name = "ux_change_events_sequence_number",
+        columnList = "sequenceNumber", unique = true))
+public class ChangeEvent {
+
+    public static final String PRODUCT = "PRODUCT";
+
+    public static final String CATEGORY = "CATEGORY";
+
+    public static final String BRAND = "BRAND";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private LocalDateTime creationDate;
+
+    // stamped by the relay once the row has committed, null until then
+    private Long sequenceNumber;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public Long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public void setSequenceNumber(Long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+}
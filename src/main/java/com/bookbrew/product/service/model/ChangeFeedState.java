@@ -0,0 +1,49 @@
+package com.bookbrew.product.service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "change_feed_state")
+public class ChangeFeedState {
+
+    // a single row, locked by the relay while it hands out sequence numbers
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+
+    // highest sequence number removed by the retention purge
+    @Column(nullable = false)
+    private Long purgedThrough;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(Long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public Long getPurgedThrough() {
+        return purgedThrough;
+    }
+
+    public void setPurgedThrough(Long purgedThrough) {
+        this.purgedThrough = purgedThrough;
+    }
+
+}
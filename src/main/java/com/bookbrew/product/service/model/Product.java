@@ -3,26 +3,55 @@ package com.bookbrew.product.service.model;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "ux_products_code", columnList = "code", unique = true),
+        @Index(name = "ix_products_low_stock", columnList = "lowStock, id"),
+        @Index(name = "ix_products_last_modified", columnList = "lastModified") })
+@NamedEntityGraph(name = Product.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("brand"),
+        @NamedAttributeNode("productImages") })
 public class Product {
 
+    public static final String DETAIL_GRAPH = "Product.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @NotBlank(message = "Code is required")
     private String code;
 
@@ -38,9 +67,18 @@ public class Product {
     @NotNull(message = "Stock is required")
     private Integer stock;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer reservedStock = 0;
+
     @NotNull(message = "Minimum stock is required")
     private Integer minimumStock;
 
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Boolean lowStock = false;
+
     @NotNull(message = "Status is required")
     private Boolean status;
 
@@ -58,14 +96,15 @@ public class Product {
 
     private Integer salesQuantity;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "brand_id", nullable = false)
     private Brand brand;
 
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductImage> productImages;
 
@@ -73,6 +112,9 @@ public class Product {
 
     private LocalDateTime updateDate;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime lastModified;
+
     public Long getId() {
         return id;
     }
@@ -81,6 +123,14 @@ public class Product {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getCode() {
         return code;
     }
@@ -121,6 +171,35 @@ public class Product {
         this.stock = stock;
     }
 
+    public Integer getReservedStock() {
+        return reservedStock;
+    }
+
+    public void setReservedStock(Integer reservedStock) {
+        this.reservedStock = reservedStock;
+    }
+
+    public Boolean getLowStock() {
+        return lowStock;
+    }
+
+    public void setLowStock(Boolean lowStock) {
+        this.lowStock = lowStock;
+    }
+
+    @JsonIgnore
+    public boolean isBelowMinimumStock() {
+        int reserved = reservedStock != null ? reservedStock : 0;
+        return stock != null && minimumStock != null && stock - reserved < minimumStock;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateDerivedFields() {
+        lowStock = isBelowMinimumStock();
+        lastModified = LocalDateTime.now();
+    }
+
     public Integer getMinimumStock() {
         return minimumStock;
     }
@@ -217,4 +296,12 @@ public class Product {
         this.updateDate = updateDate;
     }
 
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+
 }
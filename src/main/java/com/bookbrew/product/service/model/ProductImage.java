@@ -1,16 +1,21 @@
 package com.bookbrew.product.service.model;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -22,16 +27,32 @@ public class ProductImage {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     @NotBlank(message = "Description is required")
     @Size(min = 2, max = 30, message = "Description must be between 2 and 30 characters")
     private String description;
 
-    @Lob
-    @Column(name = "image_data", columnDefinition = "LONGBLOB")
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] imageData;
 
+    @Column(length = 64)
+    private String storageKey;
+
+    private String contentType;
+
+    private Long contentLength;
+
+    @Column(length = 64)
+    private String contentHash;
+
     @JsonBackReference
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", updatable = false)
     private Product product;
 
@@ -43,6 +64,14 @@ public class ProductImage {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -59,6 +88,38 @@ public class ProductImage {
         this.imageData = imageData;
     }
 
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public Product getProduct() {
         return product;
     }
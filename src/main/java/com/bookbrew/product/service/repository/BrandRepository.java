@@ -1,8 +1,10 @@
 package com.bookbrew.product.service.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.bookbrew.product.service.model.Brand;
 
@@ -10,4 +12,7 @@ public interface BrandRepository extends JpaRepository<Brand, Long> {
 
     Optional<Brand> findByDescription(String description);
 
+    @Query("SELECT b.id FROM Brand b")
+    List<Long> findAllIds();
+
 }
@@ -1,8 +1,10 @@
 package com.bookbrew.product.service.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.bookbrew.product.service.model.Category;
 
@@ -10,4 +12,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     Optional<Category> findByDescription(String description);
 
+    @Query("SELECT c.id FROM Category c")
+    List<Long> findAllIds();
+
 }
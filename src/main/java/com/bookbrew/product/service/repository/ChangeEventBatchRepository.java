@@ -0,0 +1,29 @@
+package com.bookbrew.product.service.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ChangeEventBatchRepository {
+
+    private static final String INSERT_CHANGE_EVENT = "INSERT INTO change_events (entity_type, entity_id, creation_date)"
+            + " VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(String entityType, Collection<Long> entityIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_CHANGE_EVENT, entityIds, entityIds.size(), (statement, entityId) -> {
+            statement.setString(1, entityType);
+            statement.setLong(2, entityId);
+            statement.setTimestamp(3, now);
+        });
+    }
+
+}
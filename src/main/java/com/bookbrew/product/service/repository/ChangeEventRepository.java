@@ -0,0 +1,37 @@
+package com.bookbrew.product.service.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bookbrew.product.service.dto.ChangeEventDTO;
+import com.bookbrew.product.service.model.ChangeEvent;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    @Query("SELECT new com.bookbrew.product.service.dto.ChangeEventDTO(e.sequenceNumber, e.entityType, e.entityId,"
+            + " e.creationDate) FROM ChangeEvent e WHERE e.sequenceNumber > :since ORDER BY e.sequenceNumber")
+    List<ChangeEventDTO> findFeed(@Param("since") Long since, Pageable pageable);
+
+    List<ChangeEvent> findBySequenceNumberIsNullOrderByIdAsc(Pageable pageable);
+
+    @Query("SELECT MAX(e.sequenceNumber) FROM ChangeEvent e")
+    Optional<Long> findMaxSequenceNumber();
+
+    @Query("SELECT MAX(e.sequenceNumber) FROM ChangeEvent e WHERE e.creationDate < :before")
+    Optional<Long> findMaxSequenceNumberCreatedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e WHERE e.sequenceNumber <= :through")
+    int deleteBySequenceNumberThrough(@Param("through") Long through);
+
+    @Query("SELECT e.creationDate FROM ChangeEvent e WHERE e.id = (SELECT MAX(x.id) FROM ChangeEvent x)")
+    Optional<LocalDateTime> findLatestCreationDate();
+
+}
@@ -0,0 +1,20 @@
+package com.bookbrew.product.service.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bookbrew.product.service.model.ChangeFeedState;
+
+import jakarta.persistence.LockModeType;
+
+public interface ChangeFeedStateRepository extends JpaRepository<ChangeFeedState, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ChangeFeedState s WHERE s.id = :id")
+    Optional<ChangeFeedState> findForUpdate(@Param("id") Long id);
+
+}
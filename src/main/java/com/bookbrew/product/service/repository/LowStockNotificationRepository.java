@@ -0,0 +1,22 @@
+package com.bookbrew.product.service.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bookbrew.product.service.model.LowStockNotification;
+
+public interface LowStockNotificationRepository extends JpaRepository<LowStockNotification, Long> {
+
+    List<LowStockNotification> findTop100BySentDateIsNullOrderByIdAsc();
+
+    @Modifying
+    @Query("UPDATE LowStockNotification n SET n.sentDate = :sentDate WHERE n.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentDate") LocalDateTime sentDate);
+
+}
@@ -0,0 +1,47 @@
+package com.bookbrew.product.service.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bookbrew.product.service.dto.ProductImportDTO;
+
+@Repository
+public class ProductBatchRepository {
+
+    private static final String INSERT_PRODUCT = "INSERT INTO products (version, code, title, description, price,"
+            + " stock, reserved_stock, minimum_stock, low_stock, status, weight, height, width, length,"
+            + " sales_quantity, category_id, brand_id, creation_date, last_modified)"
+            + " VALUES (0, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<ProductImportDTO> products) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, products.size(), (statement, product) -> {
+            statement.setString(1, product.getCode());
+            statement.setString(2, product.getTitle());
+            statement.setString(3, product.getDescription());
+            statement.setDouble(4, product.getPrice());
+            statement.setInt(5, product.getStock());
+            statement.setInt(6, product.getMinimumStock());
+            statement.setBoolean(7, product.getStock() < product.getMinimumStock());
+            statement.setBoolean(8, product.getStatus());
+            statement.setDouble(9, product.getWeight());
+            statement.setDouble(10, product.getHeight());
+            statement.setDouble(11, product.getWidth());
+            statement.setDouble(12, product.getLength());
+            statement.setObject(13, product.getSalesQuantity());
+            statement.setLong(14, product.getCategoryId());
+            statement.setLong(15, product.getBrandId());
+            statement.setTimestamp(16, now);
+            statement.setTimestamp(17, now);
+        });
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.bookbrew.product.service.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.bookbrew.product.service.model.ProductImage;
+
+@Repository
+public class ProductImageBatchRepository {
+
+    private static final String INSERT_PRODUCT_IMAGE = "INSERT INTO product_images (version, description,"
+            + " storage_key, content_type, content_length, content_hash, product_id)"
+            + " VALUES (0, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(Long productId, List<ProductImage> images) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_PRODUCT_IMAGE, new String[] { "id" }),
+                new BatchPreparedStatementSetter() {
+
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        ProductImage image = images.get(i);
+                        statement.setString(1, image.getDescription());
+                        statement.setString(2, image.getStorageKey());
+                        statement.setString(3, image.getContentType());
+                        statement.setLong(4, image.getContentLength());
+                        statement.setString(5, image.getContentHash());
+                        statement.setLong(6, productId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return images.size();
+                    }
+
+                }, keyHolder);
+
+        // drivers name the generated column differently, the key is the only value in each row
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < images.size(); i++) {
+            images.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            images.get(i).setVersion(0L);
+        }
+    }
+
+}
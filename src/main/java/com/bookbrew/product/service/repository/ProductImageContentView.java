@@ -0,0 +1,15 @@
+package com.bookbrew.product.service.repository;
+
+public interface ProductImageContentView {
+
+    Long getId();
+
+    String getStorageKey();
+
+    String getContentType();
+
+    Long getContentLength();
+
+    String getContentHash();
+
+}
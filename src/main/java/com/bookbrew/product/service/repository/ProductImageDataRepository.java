@@ -0,0 +1,152 @@
+package com.bookbrew.product.service.repository;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class ProductImageDataRepository {
+
+    private static final String SELECT_IMAGE_DATA = "SELECT image_data FROM product_images WHERE id = ?";
+
+    private static final String SELECT_PENDING_MIGRATION = "SELECT id FROM product_images"
+            + " WHERE id > ? AND storage_key IS NULL AND image_data IS NOT NULL ORDER BY id LIMIT ?";
+
+    private static final String COUNT_PENDING_MIGRATION = "SELECT COUNT(*) FROM product_images"
+            + " WHERE id = ? AND storage_key IS NULL AND image_data IS NOT NULL";
+
+    private static final String UPDATE_MIGRATED = "UPDATE product_images SET storage_key = ?, content_hash = ?,"
+            + " content_length = ?, content_type = ?, image_data = NULL WHERE id = ?";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public Resource findImageDataById(Long id, long contentLength) {
+        return new ImageDataResource(id, contentLength);
+    }
+
+    public List<Long> findIdsPendingMigration(long afterId, int limit) {
+        return jdbcTemplate.queryForList(SELECT_PENDING_MIGRATION, Long.class, afterId, limit);
+    }
+
+    public boolean isPendingMigration(Long id) {
+        return jdbcTemplate.queryForObject(COUNT_PENDING_MIGRATION, Long.class, id) > 0;
+    }
+
+    public void markMigrated(Long id, String storageKey, long contentLength, String contentType) {
+        jdbcTemplate.update(UPDATE_MIGRATED, storageKey, storageKey, contentLength, contentType, id);
+    }
+
+    private InputStream openImageData(Long id) throws IOException {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(SELECT_IMAGE_DATA);
+            statement.setLong(1, id);
+            resultSet = statement.executeQuery();
+
+            InputStream data = resultSet.next() ? resultSet.getBinaryStream(1) : null;
+            if (data == null) {
+                throw new IOException("No image data stored for product image with id: " + id);
+            }
+            return new ResultSetInputStream(data, connection, statement, resultSet);
+        } catch (SQLException e) {
+            closeQuietly(connection, statement, resultSet);
+            throw new IOException("Error reading image data for product image with id: " + id, e);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(connection, statement, resultSet);
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(Connection connection, PreparedStatement statement, ResultSet resultSet) {
+        for (AutoCloseable closeable : new AutoCloseable[] { resultSet, statement, connection }) {
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (Exception ignored) {
+                    // already failing or done, nothing left to release
+                }
+            }
+        }
+    }
+
+    private class ImageDataResource extends AbstractResource {
+
+        private final Long id;
+
+        private final long contentLength;
+
+        ImageDataResource(Long id, long contentLength) {
+            this.id = id;
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return openImageData(id);
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Product image data [" + id + "]";
+        }
+
+    }
+
+    private static class ResultSetInputStream extends FilterInputStream {
+
+        private final Connection connection;
+
+        private final PreparedStatement statement;
+
+        private final ResultSet resultSet;
+
+        ResultSetInputStream(InputStream in, Connection connection, PreparedStatement statement,
+                ResultSet resultSet) {
+            super(in);
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                closeQuietly(connection, statement, resultSet);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.bookbrew.product.service.repository;
+
+public interface ProductImageIdView {
+
+    Long getProductId();
+
+    Long getId();
+
+}
@@ -1,9 +1,12 @@
 package com.bookbrew.product.service.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bookbrew.product.service.model.ProductImage;
@@ -15,4 +18,13 @@ public interface ProductImagesRepository extends JpaRepository<ProductImage, Lon
 
     List<ProductImage> findByProductId(Long productId);
 
+    @Query("SELECT i.id AS id, i.storageKey AS storageKey, i.contentType AS contentType,"
+            + " i.contentLength AS contentLength, i.contentHash AS contentHash"
+            + " FROM ProductImage i WHERE i.id = :id")
+    Optional<ProductImageContentView> findContentById(@Param("id") Long id);
+
+    @Query("SELECT i.product.id AS productId, i.id AS id FROM ProductImage i"
+            + " WHERE i.product.id IN :productIds ORDER BY i.id")
+    List<ProductImageIdView> findIdsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
 }
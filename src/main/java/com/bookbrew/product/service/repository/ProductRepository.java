@@ -1,15 +1,148 @@
 package com.bookbrew.product.service.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.TopSellerDTO;
 import com.bookbrew.product.service.model.Brand;
 import com.bookbrew.product.service.model.Category;
 import com.bookbrew.product.service.model.Product;
 
+import jakarta.persistence.QueryHint;
+
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
     boolean existsByBrand(Brand brand);
 
     boolean existsByCategory(Category category);
 
+    boolean existsByCode(String code);
+
+    boolean existsByCodeAndIdNot(String code, Long id);
+
+    @EntityGraph(Product.DETAIL_GRAPH)
+    Optional<Product> findWithDetailsById(Long id);
+
+    @EntityGraph(attributePaths = { "category", "brand" })
+    List<Product> findByCodeIn(Collection<String> codes);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    String SUMMARY_SELECT = "SELECT new com.bookbrew.product.service.dto.ProductSearchDTO("
+            + "p.id, p.version, p.code, p.title, p.description, p.price, p.stock, p.reservedStock,"
+            + " p.minimumStock, p.status, p.weight, p.height, p.width, p.length, p.salesQuantity,"
+            + " p.category.id, p.brand.id, p.creationDate, p.updateDate, p.lastModified) FROM Product p";
+
+    @Query(SUMMARY_SELECT + " WHERE p.id = :id")
+    Optional<ProductSearchDTO> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + " WHERE p.id IN :ids")
+    List<ProductSearchDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY_SELECT + " ORDER BY p.id")
+    Stream<ProductSearchDTO> streamSummaries();
+
+    @Query("SELECT p.id FROM Product p WHERE p.code IN :codes")
+    List<Long> findIdsByCodeIn(@Param("codes") Collection<String> codes);
+
+    @Query(SUMMARY_SELECT
+            + " WHERE p.id > :afterId"
+            + " AND (:categoryId IS NULL OR p.category.id = :categoryId)"
+            + " AND (:brandId IS NULL OR p.brand.id = :brandId)"
+            + " AND (:status IS NULL OR p.status = :status)"
+            + " AND (:minPrice IS NULL OR p.price >= :minPrice)"
+            + " AND (:maxPrice IS NULL OR p.price <= :maxPrice)"
+            + " AND (:minStock IS NULL OR p.stock >= :minStock)"
+            + " AND (:modifiedSince IS NULL OR p.lastModified >= :modifiedSince)"
+            + " ORDER BY p.id")
+    List<ProductSearchDTO> findPage(@Param("afterId") Long afterId,
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("status") Boolean status,
+            @Param("minPrice") Double minPrice,
+            @Param("maxPrice") Double maxPrice,
+            @Param("minStock") Integer minStock,
+            @Param("modifiedSince") LocalDateTime modifiedSince,
+            Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.reservedStock = p.reservedStock + :quantity, p.version = p.version + 1,"
+            + " p.lastModified = :now WHERE p.id = :id AND p.stock - p.reservedStock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") Integer quantity,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.reservedStock = p.reservedStock - :quantity, p.version = p.version + 1,"
+            + " p.lastModified = :now WHERE p.id = :id AND p.reservedStock >= :quantity")
+    int releaseStock(@Param("id") Long id, @Param("quantity") Integer quantity,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.reservedStock = p.reservedStock - :quantity,"
+            + " p.version = p.version + 1, p.lastModified = :now"
+            + " WHERE p.id = :id AND p.reservedStock >= :quantity AND p.stock >= :quantity")
+    int commitStock(@Param("id") Long id, @Param("quantity") Integer quantity,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.salesQuantity = COALESCE(p.salesQuantity, 0) + :quantity,"
+            + " p.version = p.version + 1, p.lastModified = :now WHERE p.id = :id")
+    int incrementSalesQuantity(@Param("id") Long id, @Param("quantity") Integer quantity,
+            @Param("now") LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.bookbrew.product.service.dto.TopSellerDTO(p.id, p.version, p.category.id, p.code, p.title,"
+            + " CAST(COALESCE(p.salesQuantity, 0) AS Long)) FROM Product p WHERE p.status = true")
+    Stream<TopSellerDTO> streamTopSellers();
+
+    @Query(SUMMARY_SELECT + " WHERE p.lowStock = true AND p.id > :afterId ORDER BY p.id")
+    List<ProductSearchDTO> findLowStockPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = true"
+            + " WHERE p.id = :id AND p.lowStock = false AND p.stock - p.reservedStock < p.minimumStock")
+    int markLowStock(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = false"
+            + " WHERE p.id = :id AND p.lowStock = true AND p.stock - p.reservedStock >= p.minimumStock")
+    int clearLowStock(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = true"
+            + " WHERE p.lowStock = false AND p.stock - p.reservedStock < p.minimumStock")
+    int markAllLowStock();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.lowStock = false"
+            + " WHERE p.lowStock = true AND p.stock - p.reservedStock >= p.minimumStock")
+    int clearAllLowStock();
+
+    @Query("SELECT MAX(p.lastModified) FROM Product p")
+    Optional<LocalDateTime> findMaxLastModified();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.lastModified = COALESCE(p.updateDate, p.creationDate, :now)"
+            + " WHERE p.lastModified IS NULL")
+    int backfillLastModified(@Param("now") LocalDateTime now);
+
 }
@@ -0,0 +1,52 @@
+package com.bookbrew.product.service.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PriceBands {
+
+    private final double[] bounds;
+
+    private final String[] labels;
+
+    public PriceBands(@Value("${bookbrew.search.price-ranges}") double[] bounds) {
+        this.bounds = bounds;
+        this.labels = new String[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            labels[i] = i + 1 < bounds.length
+                    ? format(bounds[i]) + "-" + format(bounds[i + 1])
+                    : format(bounds[i]) + "+";
+        }
+    }
+
+    public int count() {
+        return bounds.length;
+    }
+
+    public double lowerBound(int band) {
+        return bounds[band];
+    }
+
+    public double upperBound(int band) {
+        return band + 1 < bounds.length ? bounds[band + 1] : Double.POSITIVE_INFINITY;
+    }
+
+    public String label(int band) {
+        return labels[band];
+    }
+
+    public int bandOf(double price) {
+        for (int i = bounds.length - 1; i >= 0; i--) {
+            if (price >= bounds[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+
+}
@@ -0,0 +1,296 @@
+package com.bookbrew.product.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.bookbrew.product.service.dto.FacetValueDTO;
+import com.bookbrew.product.service.dto.ProductFacetsDTO;
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+
+@Component
+public class ProductFacetSnapshot {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final PriceBands priceBands;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // one row per product, attributes stored column by column in primitive arrays
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    // categories and brands as dense ordinals, so facets count them in a plain int array
+    private int[] categoryOrdinals = new int[INITIAL_CAPACITY];
+
+    private int[] brandOrdinals = new int[INITIAL_CAPACITY];
+
+    private double[] prices = new double[INITIAL_CAPACITY];
+
+    // stock minus reserved stock, the same units the inStock facet counts
+    private int[] availableStocks = new int[INITIAL_CAPACITY];
+
+    private int size;
+
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+
+    private final BitSet live = new BitSet();
+
+    // rows released by remove, handed out again before the arrays grow
+    private final BitSet free = new BitSet();
+
+    private final BitSet active = new BitSet();
+
+    private final BitSet inStock = new BitSet();
+
+    private final Map<Long, BitSet> rowsByCategory = new HashMap<>();
+
+    private final Map<Long, BitSet> rowsByBrand = new HashMap<>();
+
+    private final Ordinals categories = new Ordinals();
+
+    private final Ordinals brands = new Ordinals();
+
+    public ProductFacetSnapshot(PriceBands priceBands) {
+        this.priceBands = priceBands;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            rowsById.clear();
+            live.clear();
+            free.clear();
+            active.clear();
+            inStock.clear();
+            rowsByCategory.clear();
+            rowsByBrand.clear();
+            categories.clear();
+            brands.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(ProductSearchDTO product) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowsById.get(product.getId());
+            int row;
+            if (existing != null) {
+                row = existing;
+                clearRow(rowsByCategory, categories.value(categoryOrdinals[row]), row);
+                clearRow(rowsByBrand, brands.value(brandOrdinals[row]), row);
+            } else {
+                row = free.nextSetBit(0);
+                if (row >= 0) {
+                    free.clear(row);
+                } else {
+                    row = size++;
+                    ensureCapacity(size);
+                }
+                rowsById.put(product.getId(), row);
+            }
+
+            int availableStock = product.getStock() - product.getReservedStock();
+            ids[row] = product.getId();
+            categoryOrdinals[row] = categories.of(product.getCategoryId());
+            brandOrdinals[row] = brands.of(product.getBrandId());
+            prices[row] = product.getPrice();
+            availableStocks[row] = availableStock;
+
+            live.set(row);
+            active.set(row, Boolean.TRUE.equals(product.getStatus()));
+            inStock.set(row, availableStock > 0);
+            rowsByCategory.computeIfAbsent(product.getCategoryId(), id -> new BitSet()).set(row);
+            rowsByBrand.computeIfAbsent(product.getBrandId(), id -> new BitSet()).set(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(productId);
+            if (row != null) {
+                live.clear(row);
+                active.clear(row);
+                inStock.clear(row);
+                clearRow(rowsByCategory, categories.value(categoryOrdinals[row]), row);
+                clearRow(rowsByBrand, brands.value(brandOrdinals[row]), row);
+                free.set(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ProductFacetsDTO facets(ProductFilterDTO filter, Boolean available, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet rows = filter(filter, available);
+
+            ProductFacetsDTO result = new ProductFacetsDTO();
+            result.setTotal(rows.cardinality());
+
+            int[] categoryCounts = new int[categories.size()];
+            int[] brandCounts = new int[brands.size()];
+            long[] priceCounts = new long[priceBands.count()];
+            long inStockCount = 0;
+
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (result.getIds().size() < limit) {
+                    result.getIds().add(ids[row]);
+                }
+                categoryCounts[categoryOrdinals[row]]++;
+                brandCounts[brandOrdinals[row]]++;
+                int band = priceBands.bandOf(prices[row]);
+                if (band >= 0) {
+                    priceCounts[band]++;
+                }
+                if (inStock.get(row)) {
+                    inStockCount++;
+                }
+            }
+
+            result.setCategories(toFacetValues(categories, categoryCounts));
+            result.setBrands(toFacetValues(brands, brandCounts));
+            for (int i = 0; i < priceBands.count(); i++) {
+                if (priceCounts[i] > 0) {
+                    result.getPrices().add(new FacetValueDTO(priceBands.label(i), priceCounts[i]));
+                }
+            }
+            if (inStockCount > 0) {
+                result.getAvailability().add(new FacetValueDTO("inStock", inStockCount));
+            }
+            if (result.getTotal() - inStockCount > 0) {
+                result.getAvailability().add(new FacetValueDTO("outOfStock", result.getTotal() - inStockCount));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet filter(ProductFilterDTO filter, Boolean available) {
+        BitSet rows = (BitSet) live.clone();
+        if (filter.getCategoryId() != null) {
+            rows.and(rowsByCategory.getOrDefault(filter.getCategoryId(), new BitSet()));
+        }
+        if (filter.getBrandId() != null) {
+            rows.and(rowsByBrand.getOrDefault(filter.getBrandId(), new BitSet()));
+        }
+        if (filter.getStatus() != null) {
+            if (filter.getStatus()) {
+                rows.and(active);
+            } else {
+                rows.andNot(active);
+            }
+        }
+        if (available != null) {
+            if (available) {
+                rows.and(inStock);
+            } else {
+                rows.andNot(inStock);
+            }
+        }
+        // range filters have no bitmap, scan the remaining candidates only
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null || filter.getMinStock() != null) {
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if ((filter.getMinPrice() != null && prices[row] < filter.getMinPrice())
+                        || (filter.getMaxPrice() != null && prices[row] > filter.getMaxPrice())
+                        || (filter.getMinStock() != null && availableStocks[row] < filter.getMinStock())) {
+                    rows.clear(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    int allocatedRows() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void clearRow(Map<Long, BitSet> rowsByValue, long value, int row) {
+        BitSet rows = rowsByValue.get(value);
+        rows.clear(row);
+        if (rows.isEmpty()) {
+            rowsByValue.remove(value);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int length = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, length);
+            categoryOrdinals = Arrays.copyOf(categoryOrdinals, length);
+            brandOrdinals = Arrays.copyOf(brandOrdinals, length);
+            prices = Arrays.copyOf(prices, length);
+            availableStocks = Arrays.copyOf(availableStocks, length);
+        }
+    }
+
+    private static List<FacetValueDTO> toFacetValues(Ordinals ordinals, int[] counts) {
+        List<FacetValueDTO> values = new ArrayList<>();
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] > 0) {
+                values.add(new FacetValueDTO(String.valueOf(ordinals.value(ordinal)), counts[ordinal]));
+            }
+        }
+        values.sort(Comparator.comparingLong(FacetValueDTO::getCount).reversed());
+        return values;
+    }
+
+    // ordinals are handed out once per distinct id and only reset by clear, there are few categories and brands
+    private static class Ordinals {
+
+        private final Map<Long, Integer> ordinalsByValue = new HashMap<>();
+
+        private long[] values = new long[16];
+
+        private int size;
+
+        int of(long value) {
+            Integer ordinal = ordinalsByValue.get(value);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            ordinalsByValue.put(value, size);
+            return size++;
+        }
+
+        long value(int ordinal) {
+            return values[ordinal];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            ordinalsByValue.clear();
+            size = 0;
+        }
+
+    }
+
+}
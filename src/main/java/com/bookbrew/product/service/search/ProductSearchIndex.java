@@ -0,0 +1,280 @@
+package com.bookbrew.product.service.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsCollectorManager;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.LongValueFacetCounts;
+import org.apache.lucene.facet.range.DoubleRange;
+import org.apache.lucene.facet.range.DoubleRangeFacetCounts;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DoubleValuesSource;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.stereotype.Component;
+
+import com.bookbrew.product.service.dto.FacetValueDTO;
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.ProductSearchHitDTO;
+import com.bookbrew.product.service.dto.ProductSearchResultDTO;
+
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class ProductSearchIndex {
+
+    private static final String ID = "id";
+
+    private static final String CODE = "code";
+
+    private static final String CODE_KEY = "codeKey";
+
+    private static final String TITLE = "title";
+
+    private static final String DESCRIPTION = "description";
+
+    private static final String PRICE = "price";
+
+    private static final String STOCK = "stock";
+
+    private static final String STATUS = "status";
+
+    private static final String CATEGORY_ID = "categoryId";
+
+    private static final String BRAND_ID = "brandId";
+
+    private static final int FACET_SIZE = 20;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final DoubleRange[] priceRanges;
+
+    private final Directory directory;
+
+    private final IndexWriter writer;
+
+    private final SearcherManager searcherManager;
+
+    public ProductSearchIndex(PriceBands priceBands) throws IOException {
+        this.priceRanges = toPriceRanges(priceBands);
+        // the database is the source of truth and the index is rebuilt from it on every start, so it only
+        // lives in memory
+        this.directory = new ByteBuffersDirectory();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    public void index(Collection<ProductSearchDTO> products) throws IOException {
+        for (ProductSearchDTO product : products) {
+            writer.updateDocument(new Term(ID, product.getId().toString()), toDocument(product));
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    public void delete(Collection<Long> productIds) throws IOException {
+        for (Long productId : productIds) {
+            writer.deleteDocuments(new Term(ID, productId.toString()));
+        }
+        searcherManager.maybeRefresh();
+    }
+
+    public void deleteAll() throws IOException {
+        writer.deleteAll();
+    }
+
+    public void add(ProductSearchDTO product) throws IOException {
+        writer.addDocument(toDocument(product));
+    }
+
+    public void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    public ProductSearchResultDTO search(String text, ProductFilterDTO filter, int page, int size)
+            throws IOException {
+        Query query = buildQuery(text, filter);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            FacetsCollectorManager.FacetsResult result = FacetsCollectorManager.search(searcher, query,
+                    (page + 1) * size, new FacetsCollectorManager());
+            FacetsCollector facets = result.facetsCollector();
+
+            ProductSearchResultDTO response = new ProductSearchResultDTO();
+            response.setTotal(facets.getMatchingDocs().stream().mapToLong(docs -> docs.totalHits).sum());
+
+            ScoreDoc[] scoreDocs = result.topDocs().scoreDocs;
+            StoredFields storedFields = searcher.storedFields();
+            for (int i = page * size; i < scoreDocs.length; i++) {
+                response.getHits().add(toHit(storedFields.document(scoreDocs[i].doc), scoreDocs[i].score));
+            }
+
+            response.setCategories(toFacetValues(
+                    new LongValueFacetCounts(CATEGORY_ID, facets).getTopChildren(FACET_SIZE, CATEGORY_ID)));
+            response.setBrands(toFacetValues(
+                    new LongValueFacetCounts(BRAND_ID, facets).getTopChildren(FACET_SIZE, BRAND_ID)));
+            response.setPrices(toFacetValues(new DoubleRangeFacetCounts(PRICE,
+                    DoubleValuesSource.fromDoubleField(PRICE), facets, priceRanges).getAllChildren(PRICE)));
+            return response;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query buildQuery(String text, ProductFilterDTO filter) throws IOException {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        query.add(text == null || text.isBlank() ? new MatchAllDocsQuery() : textQuery(text), Occur.MUST);
+
+        if (filter.getCategoryId() != null) {
+            query.add(LongPoint.newExactQuery(CATEGORY_ID, filter.getCategoryId()), Occur.FILTER);
+        }
+        if (filter.getBrandId() != null) {
+            query.add(LongPoint.newExactQuery(BRAND_ID, filter.getBrandId()), Occur.FILTER);
+        }
+        if (filter.getStatus() != null) {
+            query.add(IntPoint.newExactQuery(STATUS, filter.getStatus() ? 1 : 0), Occur.FILTER);
+        }
+        if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+            query.add(DoublePoint.newRangeQuery(PRICE,
+                    filter.getMinPrice() != null ? filter.getMinPrice() : Double.NEGATIVE_INFINITY,
+                    filter.getMaxPrice() != null ? filter.getMaxPrice() : Double.POSITIVE_INFINITY), Occur.FILTER);
+        }
+        if (filter.getMinStock() != null) {
+            query.add(IntPoint.newRangeQuery(STOCK, filter.getMinStock(), Integer.MAX_VALUE), Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Query textQuery(String text) throws IOException {
+        BooleanQuery.Builder words = new BooleanQuery.Builder();
+        List<String> terms = analyze(text);
+        for (String term : terms) {
+            // every word has to match, either exactly (ranked higher) or as the prefix of a longer word
+            BooleanQuery.Builder word = new BooleanQuery.Builder();
+            word.add(new BoostQuery(new TermQuery(new Term(TITLE, term)), 3f), Occur.SHOULD);
+            word.add(new TermQuery(new Term(DESCRIPTION, term)), Occur.SHOULD);
+            word.add(new BoostQuery(new PrefixQuery(new Term(TITLE, term)), 1.5f), Occur.SHOULD);
+            word.add(new PrefixQuery(new Term(DESCRIPTION, term)), Occur.SHOULD);
+            words.add(word.build(), Occur.MUST);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        if (!terms.isEmpty()) {
+            query.add(words.build(), Occur.SHOULD);
+        }
+        query.add(new BoostQuery(new PrefixQuery(new Term(CODE_KEY, text.trim().toLowerCase(Locale.ROOT))), 5f),
+                Occur.SHOULD);
+        return query.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    private Document toDocument(ProductSearchDTO product) {
+        Document document = new Document();
+        document.add(new StringField(ID, product.getId().toString(), Field.Store.YES));
+        document.add(new StoredField(CODE, product.getCode()));
+        document.add(new StringField(CODE_KEY, product.getCode().toLowerCase(Locale.ROOT), Field.Store.NO));
+        document.add(new TextField(TITLE, product.getTitle(), Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, product.getDescription(), Field.Store.NO));
+        document.add(new DoublePoint(PRICE, product.getPrice()));
+        document.add(new DoubleDocValuesField(PRICE, product.getPrice()));
+        document.add(new StoredField(PRICE, product.getPrice()));
+        document.add(new IntPoint(STOCK, product.getStock()));
+        document.add(new IntPoint(STATUS, Boolean.TRUE.equals(product.getStatus()) ? 1 : 0));
+        document.add(new LongPoint(CATEGORY_ID, product.getCategoryId()));
+        document.add(new NumericDocValuesField(CATEGORY_ID, product.getCategoryId()));
+        document.add(new StoredField(CATEGORY_ID, product.getCategoryId()));
+        document.add(new LongPoint(BRAND_ID, product.getBrandId()));
+        document.add(new NumericDocValuesField(BRAND_ID, product.getBrandId()));
+        document.add(new StoredField(BRAND_ID, product.getBrandId()));
+        return document;
+    }
+
+    private ProductSearchHitDTO toHit(Document document, float score) {
+        ProductSearchHitDTO hit = new ProductSearchHitDTO();
+        hit.setId(Long.valueOf(document.get(ID)));
+        hit.setCode(document.get(CODE));
+        hit.setTitle(document.get(TITLE));
+        hit.setPrice(document.getField(PRICE).numericValue().doubleValue());
+        hit.setCategoryId(document.getField(CATEGORY_ID).numericValue().longValue());
+        hit.setBrandId(document.getField(BRAND_ID).numericValue().longValue());
+        hit.setScore(score);
+        return hit;
+    }
+
+    private List<FacetValueDTO> toFacetValues(FacetResult result) {
+        List<FacetValueDTO> values = new ArrayList<>();
+        if (result == null) {
+            return values;
+        }
+        for (LabelAndValue labelAndValue : result.labelValues) {
+            if (labelAndValue.value.longValue() > 0) {
+                values.add(new FacetValueDTO(labelAndValue.label, labelAndValue.value.longValue()));
+            }
+        }
+        return values;
+    }
+
+    private static DoubleRange[] toPriceRanges(PriceBands priceBands) {
+        DoubleRange[] ranges = new DoubleRange[priceBands.count()];
+        for (int i = 0; i < ranges.length; i++) {
+            ranges[i] = new DoubleRange(priceBands.label(i), priceBands.lowerBound(i), true,
+                    priceBands.upperBound(i), i + 1 == ranges.length);
+        }
+        return ranges;
+    }
+
+}
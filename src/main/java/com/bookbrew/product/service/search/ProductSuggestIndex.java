@@ -0,0 +1,444 @@
+package com.bookbrew.product.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.SuggestionDTO;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+
+@Component
+public class ProductSuggestIndex {
+
+    public static final String PRODUCT = "product";
+
+    public static final String CODE = "code";
+
+    public static final String CATEGORY = "category";
+
+    public static final String BRAND = "brand";
+
+    // prefixes up to this length keep their matches in a bucket ordered by rank, they match too many keys to scan
+    private static final int BUCKET_PREFIX_LENGTH = 3;
+
+    // longer prefixes rank their key range directly unless it holds more keys than this
+    private static final int MAX_SCAN = 5000;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingLong(Suggestion::weight).reversed()
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text);
+
+    private static final Comparator<RankedKey> RANKED_KEYS = Comparator.comparing(RankedKey::suggestion, RANKING)
+            .thenComparing(RankedKey::key, TermKey::compare);
+
+    private final NavigableMap<TermKey, Suggestion> entries = new ConcurrentSkipListMap<>(TermKey::compare);
+
+    private final Map<String, NavigableSet<RankedKey>> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, List<TermKey>> keysBySource = new ConcurrentHashMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // categories and brands are weighted by the products indexed under them, kept as running totals
+    private final Map<Long, ProductWeight> productWeights = new HashMap<>();
+
+    private final Map<Long, Long> categoryWeights = new HashMap<>();
+
+    private final Map<Long, Long> brandWeights = new HashMap<>();
+
+    private final Map<Long, String> categoryNames = new HashMap<>();
+
+    private final Map<Long, String> brandNames = new HashMap<>();
+
+    public void putProduct(ProductSearchDTO product) {
+        writeLock.lock();
+        try {
+            List<Suggestion> suggestions = new ArrayList<>();
+            ProductWeight current = null;
+            if (Boolean.TRUE.equals(product.getStatus())) {
+                long weight = product.getSalesQuantity() != null ? product.getSalesQuantity() : 0;
+                suggestions.add(new Suggestion(product.getTitle(), PRODUCT, product.getId(), weight));
+                suggestions.add(new Suggestion(product.getCode(), CODE, product.getId(), weight));
+                current = new ProductWeight(product.getCategoryId(), product.getBrandId(), weight);
+            }
+            put(PRODUCT + ":" + product.getId(), suggestions);
+            reweigh(productWeights.remove(product.getId()), current);
+            if (current != null) {
+                productWeights.put(product.getId(), current);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeProduct(Long productId) {
+        writeLock.lock();
+        try {
+            put(PRODUCT + ":" + productId, List.of());
+            reweigh(productWeights.remove(productId), null);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void putCategory(Category category) {
+        writeLock.lock();
+        try {
+            if (Boolean.TRUE.equals(category.getStatus())) {
+                categoryNames.put(category.getId(), category.getDescription());
+            } else {
+                categoryNames.remove(category.getId());
+            }
+            putCategorySuggestion(category.getId());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeCategory(Long categoryId) {
+        writeLock.lock();
+        try {
+            categoryNames.remove(categoryId);
+            putCategorySuggestion(categoryId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void putBrand(Brand brand) {
+        writeLock.lock();
+        try {
+            if (Boolean.TRUE.equals(brand.getStatus())) {
+                brandNames.put(brand.getId(), brand.getDescription());
+            } else {
+                brandNames.remove(brand.getId());
+            }
+            putBrandSuggestion(brand.getId());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void removeBrand(Long brandId) {
+        writeLock.lock();
+        try {
+            brandNames.remove(brandId);
+            putBrandSuggestion(brandId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            entries.clear();
+            buckets.clear();
+            keysBySource.clear();
+            productWeights.clear();
+            categoryWeights.clear();
+            brandWeights.clear();
+            categoryNames.clear();
+            brandNames.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        if (key.length() <= BUCKET_PREFIX_LENGTH) {
+            return ranked(buckets.get(key), key, limit);
+        }
+
+        // the same suggestion is stored under one key per word, keep it once
+        Set<Suggestion> matches = new LinkedHashSet<>();
+        int scanned = 0;
+        for (Suggestion suggestion : entries.subMap(TermKey.probe(key), true,
+                TermKey.probe(key + Character.MAX_VALUE), true).values()) {
+            if (++scanned > MAX_SCAN) {
+                // too many to rank here, walk the bucket of the shorter prefix in rank order instead
+                return ranked(buckets.get(key.substring(0, BUCKET_PREFIX_LENGTH)), key, limit);
+            }
+            matches.add(suggestion);
+        }
+
+        return matches.stream()
+                .sorted(RANKING)
+                .limit(limit)
+                .map(ProductSuggestIndex::toSuggestionDTO)
+                .collect(Collectors.toList());
+    }
+
+    private static List<SuggestionDTO> ranked(NavigableSet<RankedKey> bucket, String key, int limit) {
+        Set<Suggestion> top = new LinkedHashSet<>();
+        if (bucket != null) {
+            for (RankedKey rankedKey : bucket) {
+                if (rankedKey.key().startsWith(key) && top.add(rankedKey.suggestion()) && top.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return top.stream().map(ProductSuggestIndex::toSuggestionDTO).collect(Collectors.toList());
+    }
+
+    private static SuggestionDTO toSuggestionDTO(Suggestion suggestion) {
+        return new SuggestionDTO(suggestion.text(), suggestion.type(), suggestion.id());
+    }
+
+    private void reweigh(ProductWeight previous, ProductWeight current) {
+        if (previous != null) {
+            shift(previous.categoryId, previous.brandId, -previous.weight);
+        }
+        if (current != null) {
+            shift(current.categoryId, current.brandId, current.weight);
+        }
+    }
+
+    private void shift(Long categoryId, Long brandId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        categoryWeights.merge(categoryId, delta, ProductSuggestIndex::sumOrRemove);
+        putCategorySuggestion(categoryId);
+        brandWeights.merge(brandId, delta, ProductSuggestIndex::sumOrRemove);
+        putBrandSuggestion(brandId);
+    }
+
+    private static Long sumOrRemove(Long weight, Long delta) {
+        long sum = weight + delta;
+        return sum == 0 ? null : sum;
+    }
+
+    private void putCategorySuggestion(Long categoryId) {
+        String name = categoryNames.get(categoryId);
+        put(CATEGORY + ":" + categoryId, name != null
+                ? List.of(new Suggestion(name, CATEGORY, categoryId, categoryWeights.getOrDefault(categoryId, 0L)))
+                : List.of());
+    }
+
+    private void putBrandSuggestion(Long brandId) {
+        String name = brandNames.get(brandId);
+        put(BRAND + ":" + brandId, name != null
+                ? List.of(new Suggestion(name, BRAND, brandId, brandWeights.getOrDefault(brandId, 0L)))
+                : List.of());
+    }
+
+    private void put(String source, List<Suggestion> suggestions) {
+        List<TermKey> keys = new ArrayList<>();
+        writeLock.lock();
+        try {
+            List<TermKey> previous = keysBySource.remove(source);
+            if (previous != null) {
+                for (TermKey key : previous) {
+                    Suggestion suggestion = entries.remove(key);
+                    if (suggestion != null) {
+                        forEachBucket(key, bucket -> {
+                            NavigableSet<RankedKey> rankedKeys = buckets.get(bucket);
+                            rankedKeys.remove(new RankedKey(key, suggestion));
+                            if (rankedKeys.isEmpty()) {
+                                buckets.remove(bucket);
+                            }
+                        });
+                    }
+                }
+            }
+            for (Suggestion suggestion : suggestions) {
+                for (TermKey key : terms(suggestion, source)) {
+                    entries.put(key, suggestion);
+                    forEachBucket(key, bucket -> buckets
+                            .computeIfAbsent(bucket, prefix -> new ConcurrentSkipListSet<>(RANKED_KEYS))
+                            .add(new RankedKey(key, suggestion)));
+                    keys.add(key);
+                }
+            }
+            if (!keys.isEmpty()) {
+                keysBySource.put(source, keys);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static void forEachBucket(TermKey key, Consumer<String> action) {
+        for (int length = 1; length <= Math.min(key.length(), BUCKET_PREFIX_LENGTH); length++) {
+            action.accept(key.text.substring(key.offset, key.offset + length));
+        }
+    }
+
+    private static List<TermKey> terms(Suggestion suggestion, String source) {
+        // every word start is a key, so "conc" finds "Java Concurrency in Practice"; the keys share one
+        // normalized string and only differ in their offset, so a long title costs one copy, not one per word
+        List<TermKey> terms = new ArrayList<>();
+        String normalized = normalize(suggestion.text());
+        if (normalized.isEmpty()) {
+            return terms;
+        }
+        terms.add(new TermKey(normalized, 0, source, suggestion.type()));
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            terms.add(new TermKey(normalized, i + 1, source, suggestion.type()));
+        }
+        return terms;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return WHITESPACE.matcher(DIACRITICS.matcher(decomposed).replaceAll(""))
+                .replaceAll(" ")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // the normalized text from offset on, ordered as that suffix and then by the suggestion it belongs to
+    private static class TermKey {
+
+        private final String text;
+
+        private final int offset;
+
+        private final String source;
+
+        private final String type;
+
+        TermKey(String text, int offset, String source, String type) {
+            this.text = text;
+            this.offset = offset;
+            this.source = source;
+            this.type = type;
+        }
+
+        // sorts before every key with the same text, a range bound for prefix lookups
+        static TermKey probe(String text) {
+            return new TermKey(text, 0, null, null);
+        }
+
+        int length() {
+            return text.length() - offset;
+        }
+
+        boolean startsWith(String prefix) {
+            return text.startsWith(prefix, offset);
+        }
+
+        static int compare(TermKey left, TermKey right) {
+            int length = Math.min(left.length(), right.length());
+            for (int i = 0; i < length; i++) {
+                int result = Character.compare(left.text.charAt(left.offset + i), right.text.charAt(right.offset + i));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            if (left.length() != right.length()) {
+                return Integer.compare(left.length(), right.length());
+            }
+            if (left.source == null || right.source == null) {
+                return Boolean.compare(left.source != null, right.source != null);
+            }
+            int result = left.source.compareTo(right.source);
+            return result != 0 ? result : left.type.compareTo(right.type);
+        }
+
+    }
+
+    private static class RankedKey {
+
+        private final TermKey key;
+
+        private final Suggestion suggestion;
+
+        RankedKey(TermKey key, Suggestion suggestion) {
+            this.key = key;
+            this.suggestion = suggestion;
+        }
+
+        TermKey key() {
+            return key;
+        }
+
+        Suggestion suggestion() {
+            return suggestion;
+        }
+
+    }
+
+    private static class ProductWeight {
+
+        private final Long categoryId;
+
+        private final Long brandId;
+
+        private final long weight;
+
+        ProductWeight(Long categoryId, Long brandId, long weight) {
+            this.categoryId = categoryId;
+            this.brandId = brandId;
+            this.weight = weight;
+        }
+
+    }
+
+    private static class Suggestion {
+
+        private final String text;
+
+        private final String type;
+
+        private final Long id;
+
+        private final long weight;
+
+        Suggestion(String text, String type, Long id, long weight) {
+            this.text = text;
+            this.type = type;
+            this.id = id;
+            this.weight = weight;
+        }
+
+        String text() {
+            return text;
+        }
+
+        String type() {
+            return type;
+        }
+
+        Long id() {
+            return id;
+        }
+
+        long weight() {
+            return weight;
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.bookbrew.product.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.TopSellerDTO;
+
+@Component
+public class TopSellerRanking {
+
+    private static final Comparator<TopSellerDTO> BEST_SELLING_FIRST = Comparator
+            .comparingLong(TopSellerDTO::getSalesQuantity).reversed()
+            .thenComparing(TopSellerDTO::getProductId);
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Ranking ranking = new Ranking();
+
+    // updates that arrive while a rebuild reads its snapshot, replayed onto the rebuilt ranking before the swap
+    private Map<Long, Update> updatesDuringRebuild;
+
+    public void put(ProductSearchDTO product) {
+        TopSellerDTO seller = Boolean.TRUE.equals(product.getStatus())
+                ? new TopSellerDTO(product.getId(), product.getVersion(), product.getCategoryId(), product.getCode(),
+                        product.getTitle(), product.getSalesQuantity() != null ? product.getSalesQuantity() : 0)
+                : null;
+        apply(product.getId(), new Update(product.getVersion() != null ? product.getVersion() : 0, seller));
+    }
+
+    public void remove(Long productId) {
+        // a deleted product never comes back, whatever version the snapshot saw
+        apply(productId, new Update(Long.MAX_VALUE, null));
+    }
+
+    public void replaceAll(Supplier<Stream<TopSellerDTO>> snapshot) {
+        writeLock.lock();
+        try {
+            updatesDuringRebuild = new HashMap<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            // built off to the side and swapped in, readers never see a half-filled ranking
+            Ranking rebuilt = new Ranking();
+            try (Stream<TopSellerDTO> sellers = snapshot.get()) {
+                sellers.forEach(rebuilt::add);
+            }
+            writeLock.lock();
+            try {
+                updatesDuringRebuild.forEach((productId, update) -> update.applyTo(rebuilt, productId));
+                ranking = rebuilt;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            writeLock.lock();
+            try {
+                updatesDuringRebuild = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    public List<TopSellerDTO> top(Long categoryId, int k) {
+        NavigableSet<TopSellerDTO> sellers = categoryId == null ? ranking.all : ranking.byCategory.get(categoryId);
+        List<TopSellerDTO> top = new ArrayList<>(k);
+        if (sellers != null) {
+            Iterator<TopSellerDTO> iterator = sellers.iterator();
+            while (top.size() < k && iterator.hasNext()) {
+                top.add(iterator.next());
+            }
+        }
+        return top;
+    }
+
+    private void apply(Long productId, Update update) {
+        writeLock.lock();
+        try {
+            update.applyTo(ranking, productId);
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.merge(productId, update,
+                        (previous, next) -> next.version >= previous.version ? next : previous);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static class Update {
+
+        private final long version;
+
+        // null when the product left the ranking
+        private final TopSellerDTO seller;
+
+        Update(long version, TopSellerDTO seller) {
+            this.version = version;
+            this.seller = seller;
+        }
+
+        void applyTo(Ranking ranking, Long productId) {
+            // events can be delivered out of order, and a snapshot can already hold a newer row than the event
+            TopSellerDTO current = ranking.byProduct.get(productId);
+            if (current != null && current.getVersion() != null && current.getVersion() > version) {
+                return;
+            }
+            ranking.remove(productId);
+            if (seller != null) {
+                ranking.add(seller);
+            }
+        }
+
+    }
+
+    private static class Ranking {
+
+        private final Map<Long, TopSellerDTO> byProduct = new ConcurrentHashMap<>();
+
+        private final Map<Long, NavigableSet<TopSellerDTO>> byCategory = new ConcurrentHashMap<>();
+
+        private final NavigableSet<TopSellerDTO> all = new ConcurrentSkipListSet<>(BEST_SELLING_FIRST);
+
+        void add(TopSellerDTO seller) {
+            byProduct.put(seller.getProductId(), seller);
+            byCategory.computeIfAbsent(seller.getCategoryId(), id -> new ConcurrentSkipListSet<>(BEST_SELLING_FIRST))
+                    .add(seller);
+            all.add(seller);
+        }
+
+        void remove(Long productId) {
+            TopSellerDTO previous = byProduct.remove(productId);
+            if (previous != null) {
+                byCategory.get(previous.getCategoryId()).remove(previous);
+                all.remove(previous);
+            }
+        }
+
+    }
+
+}
@@ -3,15 +3,24 @@ package com.bookbrew.product.service.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.bookbrew.product.service.config.CacheConfig;
+import com.bookbrew.product.service.event.BrandChangedEvent;
 import com.bookbrew.product.service.exception.BadRequestException;
 import com.bookbrew.product.service.exception.DuplicateNameException;
+import com.bookbrew.product.service.exception.PreconditionFailedException;
 import com.bookbrew.product.service.exception.ResourceNotFoundException;
 import com.bookbrew.product.service.model.Brand;
 import com.bookbrew.product.service.repository.BrandRepository;
 import com.bookbrew.product.service.repository.ProductRepository;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class BrandService {
 
@@ -21,6 +30,10 @@ public class BrandService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Cacheable(CacheConfig.BRAND_LIST)
     public List<Brand> getAllBrands() {
         List<Brand> brands = brandRepository.findAll();
         if (brands.isEmpty()) {
@@ -29,28 +42,48 @@ public class BrandService {
         return brands;
     }
 
+    @Cacheable(cacheNames = CacheConfig.BRANDS, key = "#id")
     public Brand getBrandById(Long id) {
         return brandRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Brand not found with id: " + id));
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BRAND_LIST, allEntries = true)
     public Brand createBrand(Brand brand) {
         validateBrand(brand);
-        return brandRepository.save(brand);
+        Brand saved = brandRepository.save(brand);
+        eventPublisher.publishEvent(new BrandChangedEvent(saved.getId()));
+        return saved;
     }
 
-    public Brand updateBrand(Long id, Brand updateBrand) {
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRANDS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_LIST, allEntries = true) })
+    public Brand updateBrand(Long id, Brand updateBrand, Long expectedVersion) {
         Brand brand = brandRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Brand not found with id: " + id));
 
+        if (expectedVersion != null && !expectedVersion.equals(brand.getVersion())) {
+            throw new PreconditionFailedException("Brand with id " + id + " has been modified, current version is "
+                    + brand.getVersion());
+        }
+
         if (updateBrand.getDescription() != null)
             brand.setDescription(updateBrand.getDescription());
         if (updateBrand.getStatus() != null)
             brand.setStatus(updateBrand.getStatus());
 
-        return brandRepository.save(brand);
+        Brand saved = brandRepository.save(brand);
+        eventPublisher.publishEvent(new BrandChangedEvent(id));
+        return saved;
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BRANDS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.BRAND_LIST, allEntries = true) })
     public void deleteBrand(Long id) {
         Brand brand = brandRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Brand not found with id: " + id));
@@ -61,6 +94,7 @@ public class BrandService {
         }
 
         brandRepository.delete(brand);
+        eventPublisher.publishEvent(new BrandChangedEvent(id));
     }
 
     private void validateBrand(Brand brand) {
@@ -3,15 +3,24 @@ package com.bookbrew.product.service.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import com.bookbrew.product.service.config.CacheConfig;
+import com.bookbrew.product.service.event.CategoryChangedEvent;
 import com.bookbrew.product.service.exception.BadRequestException;
 import com.bookbrew.product.service.exception.DuplicateNameException;
+import com.bookbrew.product.service.exception.PreconditionFailedException;
 import com.bookbrew.product.service.exception.ResourceNotFoundException;
 import com.bookbrew.product.service.model.Category;
 import com.bookbrew.product.service.repository.CategoryRepository;
 import com.bookbrew.product.service.repository.ProductRepository;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class CategoryService {
 
@@ -21,6 +30,10 @@ public class CategoryService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Cacheable(CacheConfig.CATEGORY_LIST)
     public List<Category> getAllCategories() {
         List<Category> categories = categoryRepository.findAll();
         if (categories.isEmpty()) {
@@ -29,28 +42,48 @@ public class CategoryService {
         return categories;
     }
 
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public Category getCategoryById(Long id) {
         return categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true)
     public Category createCategory(Category category) {
         validateCategory(category);
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
     }
 
-    public Category updateCategory(Long id, Category updateCategory) {
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true) })
+    public Category updateCategory(Long id, Category updateCategory, Long expectedVersion) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
 
+        if (expectedVersion != null && !expectedVersion.equals(category.getVersion())) {
+            throw new PreconditionFailedException("Category with id " + id + " has been modified, current version is "
+                    + category.getVersion());
+        }
+
         if (updateCategory.getDescription() != null)
             category.setDescription(updateCategory.getDescription());
         if (updateCategory.getStatus() != null)
             category.setStatus(updateCategory.getStatus());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        return saved;
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_LIST, allEntries = true) })
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -61,6 +94,7 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     private void validateCategory(Category category) {
@@ -0,0 +1,161 @@
+package com.bookbrew.product.service.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookbrew.product.service.dto.ChangeEventDTO;
+import com.bookbrew.product.service.dto.ChangeFeedDTO;
+import com.bookbrew.product.service.event.BrandChangedEvent;
+import com.bookbrew.product.service.event.CategoryChangedEvent;
+import com.bookbrew.product.service.event.ProductChangedEvent;
+import com.bookbrew.product.service.event.ProductSalesRecordedEvent;
+import com.bookbrew.product.service.exception.BadRequestException;
+import com.bookbrew.product.service.exception.ResourceGoneException;
+import com.bookbrew.product.service.model.ChangeEvent;
+import com.bookbrew.product.service.model.ChangeFeedState;
+import com.bookbrew.product.service.repository.ChangeEventBatchRepository;
+import com.bookbrew.product.service.repository.ChangeEventRepository;
+import com.bookbrew.product.service.repository.ChangeFeedStateRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class ChangeFeedService {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private static final int MAX_LIMIT = 1000;
+
+    private static final int RELAY_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private ChangeEventBatchRepository changeEventBatchRepository;
+
+    @Autowired
+    private ChangeFeedStateRepository changeFeedStateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${bookbrew.changes.retention}")
+    private Duration retention;
+
+    // plain listeners run inside the publisher's transaction, so the outbox row commits or rolls back with the change
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!event.getProductIds().isEmpty()) {
+            changeEventBatchRepository.insertAll(ChangeEvent.PRODUCT, event.getProductIds());
+        }
+    }
+
+    @EventListener
+    public void onProductSalesRecorded(ProductSalesRecordedEvent event) {
+        changeEventBatchRepository.insertAll(ChangeEvent.PRODUCT, event.getProductIds());
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        changeEventBatchRepository.insertAll(ChangeEvent.CATEGORY, List.of(event.getCategoryId()));
+    }
+
+    @EventListener
+    public void onBrandChanged(BrandChangedEvent event) {
+        changeEventBatchRepository.insertAll(ChangeEvent.BRAND, List.of(event.getBrandId()));
+    }
+
+    public ChangeFeedDTO findChanges(Long since, Integer limit) {
+        long after = since == null ? 0L : since;
+        if (after < 0) {
+            throw new BadRequestException("Sequence must not be negative");
+        }
+        int pageSize = resolveLimit(limit);
+
+        List<ChangeEventDTO> changes = changeEventRepository.findFeed(after, PageRequest.of(0, pageSize + 1));
+
+        // read after the page, so a purge running in between is still reported
+        ChangeFeedState state = changeFeedStateRepository.findById(ChangeFeedState.ID).orElse(null);
+        if (state != null && after < state.getPurgedThrough()) {
+            throw new ResourceGoneException("Changes up to sequence " + state.getPurgedThrough()
+                    + " have been purged, resync and continue from sequence " + state.getLastSequence());
+        }
+
+        boolean hasMore = changes.size() > pageSize;
+        if (hasMore) {
+            changes = changes.subList(0, pageSize);
+        }
+        Long nextSince = changes.isEmpty() ? after : changes.get(changes.size() - 1).getSequence();
+        return new ChangeFeedDTO(changes, nextSince, hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${bookbrew.changes.relay-interval}")
+    public void relay() {
+        Integer stamped;
+        do {
+            stamped = transactionTemplate.execute(status -> stampCommittedEvents());
+        } while (stamped != null && stamped == RELAY_BATCH_SIZE);
+    }
+
+    private int stampCommittedEvents() {
+        // ids are taken at insert time and can commit out of order, so the feed is ordered by a sequence number
+        // handed out here instead: the state row lock makes relays take turns, and a pending row only becomes
+        // visible once its transaction has committed, so a consumer never sees a lower number show up later
+        ChangeFeedState state = changeFeedStateRepository.findForUpdate(ChangeFeedState.ID)
+                .orElseGet(this::createState);
+        List<ChangeEvent> pending = changeEventRepository.findBySequenceNumberIsNullOrderByIdAsc(
+                PageRequest.of(0, RELAY_BATCH_SIZE));
+
+        long sequence = state.getLastSequence();
+        for (ChangeEvent event : pending) {
+            event.setSequenceNumber(++sequence);
+        }
+        state.setLastSequence(sequence);
+        return pending.size();
+    }
+
+    private ChangeFeedState createState() {
+        ChangeFeedState state = new ChangeFeedState();
+        state.setId(ChangeFeedState.ID);
+        state.setLastSequence(changeEventRepository.findMaxSequenceNumber().orElse(0L));
+        state.setPurgedThrough(0L);
+        return changeFeedStateRepository.saveAndFlush(state);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${bookbrew.changes.purge-interval}")
+    public void purge() {
+        ChangeFeedState state = changeFeedStateRepository.findForUpdate(ChangeFeedState.ID).orElse(null);
+        if (state == null) {
+            return;
+        }
+        // removes a prefix of the sequence so the retained feed has no holes, and remembers where it ends
+        changeEventRepository.findMaxSequenceNumberCreatedBefore(LocalDateTime.now().minus(retention))
+                .filter(through -> through > state.getPurgedThrough())
+                .ifPresent(through -> {
+                    changeEventRepository.deleteBySequenceNumberThrough(through);
+                    state.setPurgedThrough(through);
+                });
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+}
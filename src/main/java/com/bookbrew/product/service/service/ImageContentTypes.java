@@ -0,0 +1,45 @@
+package com.bookbrew.product.service.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.springframework.http.MediaType;
+
+public final class ImageContentTypes {
+
+    public static final int HEADER_LENGTH = 12;
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    private static final byte[] JPEG_SIGNATURE = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF };
+
+    private ImageContentTypes() {
+    }
+
+    public static String detect(byte[] header) {
+        if (startsWith(header, JPEG_SIGNATURE)) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (startsWith(header, PNG_SIGNATURE)) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (startsWith(header, ascii("GIF87a")) || startsWith(header, ascii("GIF89a"))) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        if (startsWith(header, ascii("RIFF")) && header.length >= 12
+                && Arrays.equals(header, 8, 12, ascii("WEBP"), 0, 4)) {
+            return "image/webp";
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data != null && data.length >= prefix.length
+                && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
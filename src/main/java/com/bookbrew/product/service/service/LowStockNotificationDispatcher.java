@@ -0,0 +1,82 @@
+package com.bookbrew.product.service.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.bookbrew.product.service.dto.LowStockNotificationDTO;
+import com.bookbrew.product.service.model.LowStockNotification;
+import com.bookbrew.product.service.repository.LowStockNotificationRepository;
+
+@Service
+public class LowStockNotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockNotificationDispatcher.class);
+
+    @Autowired
+    private LowStockNotificationRepository lowStockNotificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final RestClient restClient;
+
+    private final String webhookUrl;
+
+    public LowStockNotificationDispatcher(RestClient.Builder restClientBuilder,
+            @Value("${bookbrew.low-stock.webhook-url}") String webhookUrl) {
+        this.restClient = restClientBuilder.build();
+        this.webhookUrl = webhookUrl;
+    }
+
+    @Scheduled(fixedDelayString = "${bookbrew.low-stock.dispatch-interval}")
+    public void dispatch() {
+        if (webhookUrl.isBlank()) {
+            return;
+        }
+
+        List<LowStockNotification> pending;
+        while (!(pending = lowStockNotificationRepository.findTop100BySentDateIsNullOrderByIdAsc()).isEmpty()) {
+            try {
+                restClient.post()
+                        .uri(webhookUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(pending.stream().map(this::convertToDTO).collect(Collectors.toList()))
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                // delivery is at least once, the same batch is sent again on the next run
+                log.warn("Could not deliver {} low stock notifications: {}", pending.size(), e.getMessage());
+                return;
+            }
+
+            List<Long> ids = pending.stream().map(LowStockNotification::getId).collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(
+                    status -> lowStockNotificationRepository.markSent(ids, LocalDateTime.now()));
+        }
+    }
+
+    private LowStockNotificationDTO convertToDTO(LowStockNotification notification) {
+        LowStockNotificationDTO dto = new LowStockNotificationDTO();
+        dto.setId(notification.getId());
+        dto.setProductId(notification.getProductId());
+        dto.setProductCode(notification.getProductCode());
+        dto.setStock(notification.getStock());
+        dto.setReservedStock(notification.getReservedStock());
+        dto.setMinimumStock(notification.getMinimumStock());
+        dto.setCreationDate(notification.getCreationDate());
+        return dto;
+    }
+
+}
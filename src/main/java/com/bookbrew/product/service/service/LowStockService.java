@@ -0,0 +1,62 @@
+package com.bookbrew.product.service.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.bookbrew.product.service.model.LowStockNotification;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.LowStockNotificationRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class LowStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private LowStockNotificationRepository lowStockNotificationRepository;
+
+    public void recordCrossing(Product product) {
+        // written in the caller's transaction, so a notification exists exactly when the stock change commits
+        LowStockNotification notification = new LowStockNotification();
+        notification.setProductId(product.getId());
+        notification.setProductCode(product.getCode());
+        notification.setStock(product.getStock());
+        notification.setReservedStock(product.getReservedStock());
+        notification.setMinimumStock(product.getMinimumStock());
+        notification.setCreationDate(LocalDateTime.now());
+        lowStockNotificationRepository.save(notification);
+    }
+
+    public void markIfLow(Long productId) {
+        if (productRepository.markLowStock(productId) == 1) {
+            productRepository.findById(productId).ifPresent(this::recordCrossing);
+        }
+    }
+
+    public void clearIfRestocked(Long productId) {
+        productRepository.clearLowStock(productId);
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        int marked = productRepository.markAllLowStock();
+        int cleared = productRepository.clearAllLowStock();
+        if (marked > 0 || cleared > 0) {
+            log.info("Reconciled low stock flags, {} products marked and {} cleared", marked, cleared);
+        }
+    }
+
+}
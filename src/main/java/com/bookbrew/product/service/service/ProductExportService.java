@@ -0,0 +1,112 @@
+package com.bookbrew.product.service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.bookbrew.product.service.dto.ProductExportDTO;
+import com.bookbrew.product.service.exception.BadRequestException;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+@Service
+public class ProductExportService {
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    public MediaType resolveFormat(String format) {
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        if ("csv".equalsIgnoreCase(format)) {
+            return ProductImportService.TEXT_CSV;
+        }
+        throw new BadRequestException("Unsupported export format: " + format);
+    }
+
+    @Transactional
+    public void exportProducts(OutputStream output, MediaType format) throws IOException {
+        boolean csv = ProductImportService.TEXT_CSV.isCompatibleWith(format);
+        boolean empty = true;
+
+        try (Stream<Product> products = productRepository.streamAll();
+                SequenceWriter writer = openWriter(output, csv)) {
+            Iterator<Product> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                Product product = iterator.next();
+                writer.write(convertToExportDTO(product));
+                // keep the persistence context from growing with every streamed row
+                entityManager.detach(product);
+                empty = false;
+            }
+        }
+
+        if (!csv && !empty) {
+            output.write('\n');
+        }
+    }
+
+    private SequenceWriter openWriter(OutputStream output, boolean csv) throws IOException {
+        if (csv) {
+            return csvMapper.writerFor(ProductExportDTO.class)
+                    .with(csvMapper.schemaFor(ProductExportDTO.class).withHeader())
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(output);
+        }
+        return objectMapper.writerFor(ProductExportDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(output);
+    }
+
+    private ProductExportDTO convertToExportDTO(Product product) {
+        ProductExportDTO dto = new ProductExportDTO();
+        dto.setId(product.getId());
+        dto.setVersion(product.getVersion());
+        dto.setCode(product.getCode());
+        dto.setTitle(product.getTitle());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice());
+        dto.setStock(product.getStock());
+        dto.setReservedStock(product.getReservedStock());
+        dto.setMinimumStock(product.getMinimumStock());
+        dto.setStatus(product.getStatus());
+        dto.setWeight(product.getWeight());
+        dto.setHeight(product.getHeight());
+        dto.setWidth(product.getWidth());
+        dto.setLength(product.getLength());
+        dto.setSalesQuantity(product.getSalesQuantity());
+        dto.setCategoryId(product.getCategory().getId());
+        dto.setBrandId(product.getBrand().getId());
+        dto.setCreationDate(product.getCreationDate());
+        dto.setUpdateDate(product.getUpdateDate());
+        dto.setLastModified(product.getLastModified());
+        return dto;
+    }
+
+}
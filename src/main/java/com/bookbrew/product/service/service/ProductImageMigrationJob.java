@@ -0,0 +1,108 @@
+package com.bookbrew.product.service.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import com.bookbrew.product.service.event.ProductImageStoredEvent;
+import com.bookbrew.product.service.repository.ProductImageDataRepository;
+import com.bookbrew.product.service.storage.ProductImageStorage;
+import com.bookbrew.product.service.storage.StoredImage;
+
+@Component
+public class ProductImageMigrationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImageMigrationJob.class);
+
+    @Autowired
+    private ProductImageDataRepository productImageDataRepository;
+
+    @Autowired
+    private ProductImageStorage productImageStorage;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${bookbrew.images.migration.enabled}")
+    private boolean enabled;
+
+    @Value("${bookbrew.images.migration.batch-size}")
+    private int batchSize;
+
+    // runs on the task executor so startup does not wait for the whole copy; reads of images not moved yet
+    // still migrate them on demand through migrateIfPending
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateAll() {
+        if (!enabled) {
+            return;
+        }
+
+        int migrated = 0;
+        int failed = 0;
+        try {
+            // rows that fail stay pending, so page past them instead of picking them up again
+            List<Long> ids = productImageDataRepository.findIdsPendingMigration(0L, batchSize);
+            while (!ids.isEmpty()) {
+                for (Long id : ids) {
+                    if (migrate(id)) {
+                        migrated++;
+                    } else {
+                        failed++;
+                    }
+                }
+                ids = productImageDataRepository.findIdsPendingMigration(ids.get(ids.size() - 1), batchSize);
+            }
+        } catch (BadSqlGrammarException e) {
+            log.debug("No legacy image_data column found, nothing to migrate");
+            return;
+        }
+
+        if (migrated > 0) {
+            log.info("Moved {} product images from the database to image storage", migrated);
+        }
+        if (failed > 0) {
+            log.warn("{} product images could not be moved and stay in the database until the next start", failed);
+        }
+    }
+
+    public void migrateIfPending(Long id) {
+        try {
+            if (productImageDataRepository.isPendingMigration(id)) {
+                migrate(id);
+            }
+        } catch (BadSqlGrammarException e) {
+            log.debug("No legacy image_data column found, nothing to migrate for product image {}", id);
+        }
+    }
+
+    private boolean migrate(Long id) {
+        try (InputStream data = new BufferedInputStream(
+                productImageDataRepository.findImageDataById(id, -1).getInputStream())) {
+            data.mark(ImageContentTypes.HEADER_LENGTH);
+            String contentType = ImageContentTypes.detect(data.readNBytes(ImageContentTypes.HEADER_LENGTH));
+            data.reset();
+
+            StoredImage stored = productImageStorage.store(data);
+            productImageDataRepository.markMigrated(id, stored.getKey(), stored.getContentLength(), contentType);
+            eventPublisher.publishEvent(new ProductImageStoredEvent(stored.getKey()));
+            return true;
+        } catch (IOException e) {
+            log.warn("Error migrating image data for product image with id: {}", id, e);
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.bookbrew.product.service.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bookbrew.product.service.event.ProductImageStoredEvent;
+import com.bookbrew.product.service.storage.ProductImageStorage;
+
+@Service
+public class ProductImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImageVariantService.class);
+
+    @Autowired
+    private ProductImageStorage productImageStorage;
+
+    private final int[] sizes;
+
+    private final float quality;
+
+    private final long maxPixels;
+
+    public ProductImageVariantService(@Value("${bookbrew.images.variants.sizes}") int[] sizes,
+            @Value("${bookbrew.images.variants.quality}") float quality,
+            @Value("${bookbrew.images.variants.max-pixels}") long maxPixels) {
+        this.sizes = Arrays.stream(sizes).sorted().toArray();
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+    }
+
+    public int resolveVariantSize(int requestedSize) {
+        for (int size : sizes) {
+            if (size >= requestedSize) {
+                return size;
+            }
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    @Async("imageVariantExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void generateVariants(ProductImageStoredEvent event) {
+        String key = event.getStorageKey();
+        try {
+            BufferedImage original;
+            try (InputStream in = productImageStorage.load(key).getInputStream()) {
+                original = decode(key, in);
+            }
+            if (original == null) {
+                return;
+            }
+
+            for (int size : sizes) {
+                if (!productImageStorage.loadVariant(key, size).exists()) {
+                    productImageStorage.storeVariant(key, size, new ByteArrayInputStream(encode(resize(original, size))));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate variants for stored image {}", key, e);
+        }
+    }
+
+    private BufferedImage decode(String key, InputStream in) throws IOException {
+        try (ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = imageIn != null ? ImageIO.getImageReaders(imageIn) : null;
+            if (readers == null || !readers.hasNext()) {
+                log.debug("No image reader available for stored image {}, skipping variants", key);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                // the header declares the size, a small file can claim enough pixels to exhaust the heap on decode
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    log.warn("Stored image {} has {} pixels, more than the {} allowed, skipping variants", key,
+                            pixels, maxPixels);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage original, int size) {
+        double scale = Math.min(1.0, (double) size / Math.max(original.getWidth(), original.getHeight()));
+        int width = Math.max(1, (int) Math.round(original.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(original.getHeight() * scale));
+
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(original, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.bookbrew.product.service.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookbrew.product.service.dto.ProductImportDTO;
+import com.bookbrew.product.service.dto.ProductImportErrorDTO;
+import com.bookbrew.product.service.dto.ProductImportResultDTO;
+import com.bookbrew.product.service.event.ProductChangedEvent;
+import com.bookbrew.product.service.exception.BadRequestException;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductBatchRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ProductImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ProductBatchRepository productBatchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${bookbrew.import.batch-size}")
+    private int batchSize;
+
+    @Value("${bookbrew.import.max-errors}")
+    private int maxErrors;
+
+    public ProductImportResultDTO importProducts(InputStream input, MediaType contentType) {
+        Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllIds());
+        Set<Long> brandIds = new HashSet<>(brandRepository.findAllIds());
+
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        long row = 0;
+
+        try (MappingIterator<ProductImportDTO> rows = openReader(input, contentType)) {
+            while (true) {
+                ProductImportDTO product;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    row++;
+                    product = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    // the iterator skips the rest of the bad record and continues with the next one
+                    reject(result, row, null, e.getOriginalMessage());
+                    continue;
+                } catch (JsonProcessingException e) {
+                    reject(result, row, null, "Malformed input, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+
+                String error = validate(product, categoryIds, brandIds);
+                if (error != null) {
+                    reject(result, row, product.getCode(), error);
+                    continue;
+                }
+
+                batch.add(new ImportRow(row, product));
+                if (batch.size() == batchSize) {
+                    insert(batch, result);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading import input", e);
+        }
+
+        if (!batch.isEmpty()) {
+            insert(batch, result);
+        }
+        return result;
+    }
+
+    private MappingIterator<ProductImportDTO> openReader(InputStream input, MediaType contentType)
+            throws IOException {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return objectMapper.readerFor(ProductImportDTO.class).readValues(input);
+        }
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return csvMapper.readerFor(ProductImportDTO.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+        }
+        throw new BadRequestException("Unsupported import format: " + contentType);
+    }
+
+    private String validate(ProductImportDTO product, Set<Long> categoryIds, Set<Long> brandIds) {
+        Set<ConstraintViolation<ProductImportDTO>> violations = validator.validate(product);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath().toString() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!categoryIds.contains(product.getCategoryId())) {
+            return "Category not found with id: " + product.getCategoryId();
+        }
+        if (!brandIds.contains(product.getBrandId())) {
+            return "Brand not found with id: " + product.getBrandId();
+        }
+        return null;
+    }
+
+    private void insert(List<ImportRow> batch, ProductImportResultDTO result) {
+        try {
+            List<ProductImportDTO> products = batch.stream().map(ImportRow::product).collect(Collectors.toList());
+            transactionTemplate.executeWithoutResult(status -> insertAndPublish(products));
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataAccessException batchFailure) {
+            // retry the failed batch row by row so only the offending rows are rejected
+            for (ImportRow importRow : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> insertAndPublish(List.of(importRow.product())));
+                    result.setImported(result.getImported() + 1);
+                } catch (DuplicateKeyException e) {
+                    reject(result, importRow.row(), importRow.product().getCode(),
+                            "Product already exists with code: " + importRow.product().getCode());
+                } catch (DataAccessException e) {
+                    reject(result, importRow.row(), importRow.product().getCode(),
+                            e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private void insertAndPublish(List<ProductImportDTO> products) {
+        productBatchRepository.insertAll(products);
+        eventPublisher.publishEvent(new ProductChangedEvent(productRepository.findIdsByCodeIn(
+                products.stream().map(ProductImportDTO::getCode).collect(Collectors.toList()))));
+    }
+
+    private void reject(ProductImportResultDTO result, long row, String code, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < maxErrors) {
+            result.getErrors().add(new ProductImportErrorDTO(row, code, message));
+        }
+    }
+
+    private static class ImportRow {
+
+        private final long row;
+
+        private final ProductImportDTO product;
+
+        ImportRow(long row, ProductImportDTO product) {
+            this.row = row;
+            this.product = product;
+        }
+
+        long row() {
+            return row;
+        }
+
+        ProductImportDTO product() {
+            return product;
+        }
+
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.bookbrew.product.service.service;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookbrew.product.service.dto.ProductFacetsDTO;
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.ProductSearchResultDTO;
+import com.bookbrew.product.service.dto.SuggestionDTO;
+import com.bookbrew.product.service.dto.TopSellerDTO;
+import com.bookbrew.product.service.event.BrandChangedEvent;
+import com.bookbrew.product.service.event.CategoryChangedEvent;
+import com.bookbrew.product.service.event.ProductChangedEvent;
+import com.bookbrew.product.service.event.ProductSalesRecordedEvent;
+import com.bookbrew.product.service.exception.BadRequestException;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+import com.bookbrew.product.service.search.ProductFacetSnapshot;
+import com.bookbrew.product.service.search.ProductSearchIndex;
+import com.bookbrew.product.service.search.ProductSuggestIndex;
+import com.bookbrew.product.service.search.TopSellerRanking;
+
+@Service
+public class ProductSearchService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_RESULT_WINDOW = 10000;
+
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+
+    private static final int MAX_SUGGEST_LIMIT = 50;
+
+    private static final int DEFAULT_FACET_ID_LIMIT = 100;
+
+    private static final int MAX_FACET_ID_LIMIT = 10000;
+
+    private static final int DEFAULT_TOP_SELLERS = 10;
+
+    private static final int MAX_TOP_SELLERS = 100;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Autowired
+    private ProductFacetSnapshot productFacetSnapshot;
+
+    @Autowired
+    private TopSellerRanking topSellerRanking;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private volatile boolean running;
+
+    public ProductSearchResultDTO search(String q, ProductFilterDTO filter, Integer page, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        int pageNumber = page == null ? 0 : page;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (pageNumber < 0 || (long) (pageNumber + 1) * pageSize > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Search results are limited to the first " + MAX_RESULT_WINDOW + " hits");
+        }
+
+        try {
+            return productSearchIndex.search(q, filter, pageNumber, pageSize);
+        } catch (IOException e) {
+            throw new RuntimeException("Error searching products", e);
+        }
+    }
+
+    public List<SuggestionDTO> suggest(String prefix, Integer limit) {
+        int suggestionLimit = limit == null ? DEFAULT_SUGGEST_LIMIT : limit;
+        if (suggestionLimit < 1 || suggestionLimit > MAX_SUGGEST_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGEST_LIMIT);
+        }
+        return productSuggestIndex.suggest(prefix, suggestionLimit);
+    }
+
+    public ProductFacetsDTO facets(ProductFilterDTO filter, Boolean inStock, Integer limit) {
+        int idLimit = limit == null ? DEFAULT_FACET_ID_LIMIT : limit;
+        if (idLimit < 0 || idLimit > MAX_FACET_ID_LIMIT) {
+            throw new BadRequestException("Limit must be between 0 and " + MAX_FACET_ID_LIMIT);
+        }
+        return productFacetSnapshot.facets(filter, inStock, idLimit);
+    }
+
+    public List<TopSellerDTO> topSellers(Long categoryId, Integer k) {
+        int limit = k == null ? DEFAULT_TOP_SELLERS : k;
+        if (limit < 1 || limit > MAX_TOP_SELLERS) {
+            throw new BadRequestException("k must be between 1 and " + MAX_TOP_SELLERS);
+        }
+        return topSellerRanking.top(categoryId, limit);
+    }
+
+    @Scheduled(fixedDelayString = "${bookbrew.top-sellers.reconcile-interval}",
+            initialDelayString = "${bookbrew.top-sellers.reconcile-interval}")
+    public void reconcileTopSellers() {
+        // catches anything an event missed, e.g. sales written directly to the database
+        transactionTemplate.executeWithoutResult(
+                status -> topSellerRanking.replaceAll(productRepository::streamTopSellers));
+    }
+
+    // builds the indexes before the web server starts, which is a later phase, so no request or change event
+    // can reach them while the rebuild streams its snapshot and nothing applied meanwhile gets overwritten
+    @Override
+    public void start() {
+        rebuildIndex();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void rebuildIndex() {
+        long indexed = transactionTemplate.execute(status -> {
+            try (Stream<ProductSearchDTO> products = productRepository.streamSummaries()) {
+                productSearchIndex.deleteAll();
+                productSuggestIndex.clear();
+                productFacetSnapshot.clear();
+                long count = 0;
+                Iterator<ProductSearchDTO> iterator = products.iterator();
+                while (iterator.hasNext()) {
+                    ProductSearchDTO product = iterator.next();
+                    productSearchIndex.add(product);
+                    productSuggestIndex.putProduct(product);
+                    productFacetSnapshot.put(product);
+                    topSellerRanking.put(product);
+                    count++;
+                }
+                productSearchIndex.commit();
+                return count;
+            } catch (IOException e) {
+                throw new RuntimeException("Error building product search index", e);
+            }
+        });
+        categoryRepository.findAll().forEach(productSuggestIndex::putCategory);
+        brandRepository.findAll().forEach(productSuggestIndex::putBrand);
+        log.info("Indexed {} products for search", indexed);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            List<ProductSearchDTO> products = productRepository.findSummariesByIdIn(event.getProductIds());
+            Set<Long> existing = products.stream().map(ProductSearchDTO::getId).collect(Collectors.toSet());
+            List<Long> deleted = event.getProductIds().stream()
+                    .filter(id -> !existing.contains(id))
+                    .collect(Collectors.toList());
+
+            products.forEach(productSuggestIndex::putProduct);
+            deleted.forEach(productSuggestIndex::removeProduct);
+            products.forEach(productFacetSnapshot::put);
+            deleted.forEach(productFacetSnapshot::remove);
+            products.forEach(topSellerRanking::put);
+            deleted.forEach(topSellerRanking::remove);
+            productSearchIndex.index(products);
+            productSearchIndex.delete(deleted);
+        } catch (IOException | RuntimeException e) {
+            // the change is already committed, a stale index entry must not fail the request
+            log.warn("Could not update search index for products {}", event.getProductIds(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductSalesRecorded(ProductSalesRecordedEvent event) {
+        // salesQuantity only feeds the rankings, the Lucene documents and facet rows stay as they are
+        try {
+            List<ProductSearchDTO> products = productRepository.findSummariesByIdIn(event.getProductIds());
+            products.forEach(topSellerRanking::put);
+            products.forEach(productSuggestIndex::putProduct);
+        } catch (RuntimeException e) {
+            log.warn("Could not update rankings for products {}", event.getProductIds(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryRepository.findById(event.getCategoryId()).ifPresentOrElse(productSuggestIndex::putCategory,
+                () -> productSuggestIndex.removeCategory(event.getCategoryId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBrandChanged(BrandChangedEvent event) {
+        brandRepository.findById(event.getBrandId()).ifPresentOrElse(productSuggestIndex::putBrand,
+                () -> productSuggestIndex.removeBrand(event.getBrandId()));
+    }
+
+}
@@ -1,65 +1,194 @@
 package com.bookbrew.product.service.service;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.bookbrew.product.service.config.CacheConfig;
 import com.bookbrew.product.service.dto.ProductDTO;
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductImageContentDTO;
 import com.bookbrew.product.service.dto.ProductImageDTO;
 import com.bookbrew.product.service.dto.ProductImagesSearchDTO;
+import com.bookbrew.product.service.dto.ProductPageDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.ProductUpsertResultDTO;
+import com.bookbrew.product.service.event.ProductChangedEvent;
+import com.bookbrew.product.service.event.ProductImageStoredEvent;
+import com.bookbrew.product.service.exception.BadRequestException;
+import com.bookbrew.product.service.exception.DuplicateCodeException;
+import com.bookbrew.product.service.exception.PayloadTooLargeException;
+import com.bookbrew.product.service.exception.PreconditionFailedException;
 import com.bookbrew.product.service.exception.ResourceNotFoundException;
 import com.bookbrew.product.service.model.Product;
 import com.bookbrew.product.service.model.ProductImage;
+import com.bookbrew.product.service.repository.ChangeEventRepository;
+import com.bookbrew.product.service.repository.ProductImageBatchRepository;
+import com.bookbrew.product.service.repository.ProductImageContentView;
+import com.bookbrew.product.service.repository.ProductImageIdView;
 import com.bookbrew.product.service.repository.ProductImagesRepository;
 import com.bookbrew.product.service.repository.ProductRepository;
+import com.bookbrew.product.service.storage.ProductImageStorage;
+import com.bookbrew.product.service.storage.StoredImage;
 
 import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 @Service
 public class ProductService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ProductRepository productRepository;
 
     @Autowired
     private ProductImagesRepository productImagesRepository;
 
+    @Autowired
+    private ProductImageStorage productImageStorage;
+
+    @Autowired
+    private ProductImageMigrationJob productImageMigrationJob;
+
+    @Autowired
+    private ProductImageVariantService productImageVariantService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private CategoryService categoryService;
 
     @Autowired
     private BrandService brandService;
 
-    public List<ProductDTO> findAll() {
-        List<Product> products = productRepository.findAll();
-        List<ProductDTO> productsDTO = new ArrayList<>();
+    @Autowired
+    private LowStockService lowStockService;
 
-        if (products.isEmpty()) {
-            throw new ResourceNotFoundException("No products found");
-        }
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private ProductImageBatchRepository productImageBatchRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${bookbrew.upsert.max-size}")
+    private int maxUpsertSize;
+
+    @Value("${bookbrew.images.max-size}")
+    private DataSize maxImageSize;
+
+    @Value("${bookbrew.images.max-upload-count}")
+    private int maxImageUploadCount;
+
+    private final ConcurrentMap<Long, ReentrantLock> productLoads = new ConcurrentHashMap<>();
+
+    public ProductPageDTO findPage(String cursor, Integer size, ProductFilterDTO filter) {
+        int pageSize = resolvePageSize(size);
+        List<ProductSearchDTO> products = productRepository.findPage(decodeCursor(cursor),
+                filter.getCategoryId(), filter.getBrandId(), filter.getStatus(),
+                filter.getMinPrice(), filter.getMaxPrice(), filter.getMinStock(), filter.getModifiedSince(),
+                PageRequest.of(0, pageSize + 1));
+        return toPage(products, pageSize);
+    }
+
+    public ProductPageDTO findLowStockPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<ProductSearchDTO> products = productRepository.findLowStockPage(decodeCursor(cursor),
+                PageRequest.of(0, pageSize + 1));
+        return toPage(products, pageSize);
+    }
 
-        for (Product product : products) {
-            convertToSearchDTO(product);
-            productsDTO.add(convertToSearchDTO(product));
+    public Optional<LocalDateTime> findLastModified() {
+        // a deleted product leaves no row behind, but its removal is still recorded in the change feed
+        Optional<LocalDateTime> lastModified = productRepository.findMaxLastModified();
+        Optional<LocalDateTime> lastChange = changeEventRepository.findLatestCreationDate();
+        if (lastModified.isEmpty() || lastChange.isEmpty()) {
+            return lastModified.isPresent() ? lastModified : lastChange;
         }
+        return lastModified.get().isAfter(lastChange.get()) ? lastModified : lastChange;
+    }
 
-        return productsDTO;
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLastModified() {
+        productRepository.backfillLastModified(LocalDateTime.now());
     }
 
-    public ProductDTO findById(Long id) {
-        return convertToSearchDTO(productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id)));
+    // single flight per id on a ReentrantLock: a sync @Cacheable loads inside Caffeine's compute, which holds
+    // a monitor through the query and pins the carrier of every virtual thread waiting on that id
+    public ProductSearchDTO findById(Long id) {
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        ProductSearchDTO product = products.get(id, ProductSearchDTO.class);
+        if (product != null) {
+            return product;
+        }
+        ReentrantLock lock = productLoads.computeIfAbsent(id, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            product = products.get(id, ProductSearchDTO.class);
+            if (product == null) {
+                product = productRepository.findSummaryById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+                attachImageIds(List.of(product));
+                products.put(id, product);
+            }
+            return product;
+        } finally {
+            lock.unlock();
+            if (!lock.hasQueuedThreads()) {
+                productLoads.remove(id, lock);
+            }
+        }
     }
 
     @Transactional
     public Product createProduct(Product product) {
+        if (productRepository.existsByCode(product.getCode())) {
+            throw new DuplicateCodeException("Code '" + product.getCode() + "' is already in use");
+        }
         product.setCategory(categoryService.getCategoryById(product.getCategory().getId()));
         product.setBrand(brandService.getBrandById(product.getBrand().getId()));
+        product.setReservedStock(0);
         product.setCreationDate(LocalDateTime.now());
 
         if (product.getProductImages() != null && !product.getProductImages().isEmpty()) {
@@ -72,6 +201,7 @@ public class ProductService {
                             existingImage.setProduct(product);
                             return existingImage;
                         }
+                        applyImageData(image, image.getImageData());
                         image.setProduct(product);
                         return image;
                     })
@@ -79,86 +209,97 @@ public class ProductService {
             product.setProductImages(processedImages);
         }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(saved.getId())));
+        return saved;
     }
 
     @Transactional
-    public Product update(Long id, ProductDTO productDTO) {
-        Product product = productRepository.findById(id)
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
+    public Product update(Long id, ProductDTO productDTO, Long expectedVersion) {
+        Product product = productRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
 
-        if (productDTO.getCode() != null)
-            product.setCode(productDTO.getCode());
-        if (productDTO.getTitle() != null)
-            product.setTitle(productDTO.getTitle());
-        if (productDTO.getDescription() != null)
-            product.setDescription(productDTO.getDescription());
-        if (productDTO.getPrice() != null)
-            product.setPrice(productDTO.getPrice());
-        if (productDTO.getStock() != null)
-            product.setStock(productDTO.getStock());
-        if (productDTO.getMinimumStock() != null)
-            product.setMinimumStock(productDTO.getMinimumStock());
-        if (productDTO.getStatus() != null)
-            product.setStatus(productDTO.getStatus());
-        if (productDTO.getWeight() != null)
-            product.setWeight(productDTO.getWeight());
-        if (productDTO.getHeight() != null)
-            product.setHeight(productDTO.getHeight());
-        if (productDTO.getWidth() != null)
-            product.setWidth(productDTO.getWidth());
-        if (productDTO.getLength() != null)
-            product.setLength(productDTO.getLength());
-        if (productDTO.getSalesQuantity() != null)
-            product.setSalesQuantity(productDTO.getSalesQuantity());
-        if (productDTO.getCategory() != null)
-            product.setCategory(categoryService.getCategoryById(productDTO.getCategory().getId()));
-        if (productDTO.getBrand() != null)
-            product.setBrand(brandService.getBrandById(productDTO.getBrand().getId()));
-
-        if (productDTO.getProductImages() != null) {
-            List<ProductImage> updatedImages = new ArrayList<>();
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new PreconditionFailedException("Product with id " + id + " has been modified, current version is "
+                    + product.getVersion());
+        }
+        if (productDTO.getCode() != null && !productDTO.getCode().equals(product.getCode())
+                && productRepository.existsByCodeAndIdNot(productDTO.getCode(), id)) {
+            throw new DuplicateCodeException("Code '" + productDTO.getCode() + "' is already in use");
+        }
 
-            List<Long> updatedImageIds = productDTO.getProductImages().stream()
-                    .filter(img -> img.getId() != null)
-                    .map(ProductImage::getId)
-                    .collect(Collectors.toList());
+        applyChanges(product, productDTO);
 
-            product.getProductImages().stream()
-                    .filter(img -> !updatedImageIds.contains(img.getId()))
-                    .forEach(updatedImages::add);
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(saved.getId())));
+        return saved;
+    }
 
-            for (ProductImage imageDTO : productDTO.getProductImages()) {
-                if (imageDTO.getId() != null) {
-                    ProductImage existingImage = productImagesRepository.findById(imageDTO.getId())
-                            .orElseThrow(() -> new ResourceNotFoundException(
-                                    "Product Image not found with id: " + imageDTO.getId()));
-                    existingImage.setImageData(imageDTO.getImageData());
-                    existingImage.setDescription(imageDTO.getDescription());
-                    existingImage.setProduct(product);
-                    updatedImages.add(existingImage);
-                } else {
-                    ProductImage newImage = new ProductImage();
-                    newImage.setImageData(imageDTO.getImageData());
-                    newImage.setDescription(imageDTO.getDescription());
-                    newImage.setProduct(product);
-                    updatedImages.add(newImage);
-                }
+    @Transactional
+    public ProductUpsertResultDTO upsertByCode(List<ProductDTO> products) {
+        if (products == null || products.isEmpty()) {
+            throw new BadRequestException("At least one product is required");
+        }
+        if (products.size() > maxUpsertSize) {
+            throw new BadRequestException("At most " + maxUpsertSize + " products can be upserted per request");
+        }
+
+        Set<String> codes = new HashSet<>();
+        for (ProductDTO dto : products) {
+            if (dto.getCode() == null || dto.getCode().isBlank()) {
+                throw new BadRequestException("Code is required");
+            }
+            if (!codes.add(dto.getCode())) {
+                throw new BadRequestException("Duplicate code in request: " + dto.getCode());
             }
+        }
 
-            product.getProductImages().clear();
-            product.getProductImages().addAll(updatedImages);
+        Map<String, Product> existing = productRepository.findByCodeIn(codes).stream()
+                .collect(Collectors.toMap(Product::getCode, product -> product));
+
+        ProductUpsertResultDTO result = new ProductUpsertResultDTO();
+        List<Product> created = new ArrayList<>();
+        for (ProductDTO dto : products) {
+            Product product = existing.get(dto.getCode());
+            if (product == null) {
+                if (dto.getCategory() == null || dto.getBrand() == null) {
+                    throw new BadRequestException("Category and brand are required for new product with code: "
+                            + dto.getCode());
+                }
+                product = new Product();
+                product.setProductImages(new ArrayList<>());
+                product.setReservedStock(0);
+                product.setCreationDate(LocalDateTime.now());
+                applyChanges(product, dto);
+                created.add(product);
+            } else {
+                applyChanges(product, dto);
+                result.getUpdatedIds().add(product.getId());
+            }
         }
 
-        product.setUpdateDate(LocalDateTime.now());
+        productRepository.saveAll(created);
+        productRepository.flush();
+        created.forEach(product -> result.getCreatedIds().add(product.getId()));
+
+        List<Long> changedIds = new ArrayList<>(result.getCreatedIds());
+        changedIds.addAll(result.getUpdatedIds());
+        eventPublisher.publishEvent(new ProductChangedEvent(changedIds));
 
-        return productRepository.save(product);
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        if (cache != null) {
+            result.getUpdatedIds().forEach(cache::evict);
+        }
+        return result;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public void deleteProduct(Long id) {
-        productRepository.delete(productRepository.findById(id)
+        productRepository.delete(productRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id)));
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
     }
 
     public List<ProductImagesSearchDTO> findAllProductImages() {
@@ -169,37 +310,133 @@ public class ProductService {
         return convertToListDTO(images);
     }
 
-    public byte[] findByIdProductImage(Long id) {
-        ProductImage image = productImagesRepository.findById(id)
+    public List<ProductImagesSearchDTO> findProductImages(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        return convertToListDTO(productImagesRepository.findByProductId(productId));
+    }
+
+    public ProductImageContentDTO findProductImageContent(Long id, Integer size) {
+        ProductImageContentView content = productImagesRepository.findContentById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product image not found with id: " + id));
+
+        if (content.getStorageKey() == null) {
+            content = migrateImageData(id);
+        }
+
+        ProductImageContentDTO dto = new ProductImageContentDTO();
+        dto.setId(content.getId());
+        dto.setContentType(content.getContentType());
+        dto.setContentLength(content.getContentLength());
+        dto.setContentHash(content.getContentHash());
+        dto.setContent(productImageStorage.load(content.getStorageKey()));
+
+        if (size != null) {
+            if (size < 1) {
+                throw new BadRequestException("Image size must be greater than zero");
+            }
+            int variantSize = productImageVariantService.resolveVariantSize(size);
+            Resource variant = productImageStorage.loadVariant(content.getStorageKey(), variantSize);
+            if (variant.exists()) {
+                try {
+                    dto.setContentType(MediaType.IMAGE_JPEG_VALUE);
+                    dto.setContentLength(variant.contentLength());
+                    dto.setContentHash(content.getContentHash() + "-" + variantSize);
+                    dto.setContent(variant);
+                } catch (IOException e) {
+                    throw new RuntimeException("Error reading image variant", e);
+                }
+            }
+        }
+
+        return dto;
+    }
+
+    private ProductImageContentView migrateImageData(Long id) {
+        productImageMigrationJob.migrateIfPending(id);
+
+        ProductImageContentView content = productImagesRepository.findContentById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product image not found with id: " + id));
-        return image.getImageData();
+        if (content.getStorageKey() == null) {
+            throw new ResourceNotFoundException("No image data stored for product image with id: " + id);
+        }
+        return content;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#result.idProduct")
     public ProductImagesSearchDTO createProductImage(ProductImageDTO productImageDTO) {
-        try {
-            Long productId = productImageDTO.getProduct().getId();
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        Long productId = productImageDTO.getProduct().getId();
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
-            ProductImage productImage = new ProductImage();
-            productImage.setDescription(productImageDTO.getDescription());
-            productImage.setImageData(productImageDTO.getImage().getBytes());
-            productImage.setProduct(product);
+        ProductImage productImage = new ProductImage();
+        productImage.setDescription(productImageDTO.getDescription());
+        applyImageData(productImage, productImageDTO.getImage());
+        productImage.setProduct(product);
+        product.setLastModified(LocalDateTime.now());
 
-            productImagesRepository.save(productImage);
-            return convertToSearchDTO(productImage);
-        } catch (IOException e) {
-            throw new RuntimeException("Error processing image file", e);
+        productImagesRepository.save(productImage);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productImage.getProduct().getId())));
+        return convertToSearchDTO(productImage);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
+    public List<ProductImagesSearchDTO> createProductImages(Long productId, List<MultipartFile> files,
+            List<String> descriptions) {
+        if (files == null || files.isEmpty()) {
+            throw new BadRequestException("At least one image is required");
+        }
+        if (files.size() > maxImageUploadCount) {
+            throw new BadRequestException("At most " + maxImageUploadCount + " images can be uploaded per request");
+        }
+        if (descriptions == null || descriptions.size() != files.size()) {
+            throw new BadRequestException("One description is required for every image");
+        }
+
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+
+        List<ProductImage> images = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            ProductImage image = new ProductImage();
+            image.setDescription(descriptions.get(i));
+            image.setProduct(product);
+            validateImage(image);
+            images.add(image);
+        }
+        for (int i = 0; i < files.size(); i++) {
+            applyImageData(images.get(i), files.get(i));
+        }
+
+        // a single JDBC batch instead of one IDENTITY insert round trip per image
+        productImageBatchRepository.insertAll(productId, images);
+        product.setLastModified(LocalDateTime.now());
+
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productId)));
+        return convertToListDTO(images);
+    }
+
+    private void validateImage(ProductImage image) {
+        Set<ConstraintViolation<ProductImage>> violations = validator.validate(image);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
         }
     }
 
     private ProductImagesSearchDTO convertToSearchDTO(ProductImage productImage) {
         ProductImagesSearchDTO dto = new ProductImagesSearchDTO();
         dto.setId(productImage.getId());
+        dto.setVersion(productImage.getVersion());
         dto.setDescription(productImage.getDescription());
         dto.setIdProduct(productImage.getProduct().getId());
-        dto.setImage(productImage.getImageData());
+        dto.setContentType(productImage.getContentType());
+        dto.setContentLength(productImage.getContentLength());
         return dto;
     }
 
@@ -210,29 +447,36 @@ public class ProductService {
     }
 
     @Transactional
-    public ProductImagesSearchDTO updateProductImage(Long productId, Long imageId, ProductImageDTO productImageDTO) {
-        try {
-            ProductImage productImage = productImagesRepository.findById(imageId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product image not found with id: " + imageId));
-
-            if (productImageDTO.getDescription() != null) {
-                productImage.setDescription(productImageDTO.getDescription());
-            }
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#result.idProduct")
+    public ProductImagesSearchDTO updateProductImage(Long productId, Long imageId, ProductImageDTO productImageDTO,
+            Long expectedVersion) {
+        ProductImage productImage = productImagesRepository.findById(imageId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product image not found with id: " + imageId));
+
+        if (expectedVersion != null && !expectedVersion.equals(productImage.getVersion())) {
+            throw new PreconditionFailedException("Product image with id " + imageId
+                    + " has been modified, current version is " + productImage.getVersion());
+        }
 
-            if (productImageDTO.getImage() != null) {
-                productImage.setImageData(productImageDTO.getImage().getBytes());
-            }
+        if (productImageDTO.getDescription() != null) {
+            productImage.setDescription(productImageDTO.getDescription());
+        }
 
-            productImagesRepository.save(productImage);
-            return convertToSearchDTO(productImage);
-        } catch (IOException e) {
-            throw new RuntimeException("Error processing image file", e);
+        if (productImageDTO.getImage() != null) {
+            applyImageData(productImage, productImageDTO.getImage());
         }
+        productImage.getProduct().setLastModified(LocalDateTime.now());
+
+        // flushed so the returned version is the one the next If-Match has to carry
+        productImagesRepository.saveAndFlush(productImage);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productImage.getProduct().getId())));
+        return convertToSearchDTO(productImage);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS, key = "#productId")
     public void deleteProductImage(Long productId, Long productImageId) {
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findWithDetailsById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
 
         ProductImage productImageToDelete = productImagesRepository.findById(productImageId)
@@ -243,31 +487,177 @@ public class ProductService {
         }
 
         product.getProductImages().remove(productImageToDelete);
+        product.setLastModified(LocalDateTime.now());
 
         productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(productId)));
     }
 
-    private ProductDTO convertToSearchDTO(Product product) {
-        ProductDTO dto = new ProductDTO();
-        dto.setId(product.getId());
-        dto.setCode(product.getCode());
-        dto.setTitle(product.getTitle());
-        dto.setDescription(product.getDescription());
-        dto.setPrice(product.getPrice());
-        dto.setStock(product.getStock());
-        dto.setMinimumStock(product.getMinimumStock());
-        dto.setStatus(product.getStatus());
-        dto.setWeight(product.getWeight());
-        dto.setHeight(product.getHeight());
-        dto.setWidth(product.getWidth());
-        dto.setLength(product.getLength());
-        dto.setSalesQuantity(product.getSalesQuantity());
-        dto.setUpdateDate(product.getUpdateDate());
-        dto.setCategory(product.getCategory());
-        dto.setBrand(product.getBrand());
-        dto.setProductImages(
-                product.getProductImages().stream().collect(Collectors.toList()));
+    private void applyChanges(Product product, ProductDTO dto) {
+        boolean wasLowStock = Boolean.TRUE.equals(product.getLowStock());
+
+        if (dto.getCode() != null)
+            product.setCode(dto.getCode());
+        if (dto.getTitle() != null)
+            product.setTitle(dto.getTitle());
+        if (dto.getDescription() != null)
+            product.setDescription(dto.getDescription());
+        if (dto.getPrice() != null)
+            product.setPrice(dto.getPrice());
+        if (dto.getStock() != null)
+            product.setStock(dto.getStock());
+        if (dto.getMinimumStock() != null)
+            product.setMinimumStock(dto.getMinimumStock());
+        if (dto.getStatus() != null)
+            product.setStatus(dto.getStatus());
+        if (dto.getWeight() != null)
+            product.setWeight(dto.getWeight());
+        if (dto.getHeight() != null)
+            product.setHeight(dto.getHeight());
+        if (dto.getWidth() != null)
+            product.setWidth(dto.getWidth());
+        if (dto.getLength() != null)
+            product.setLength(dto.getLength());
+        if (dto.getSalesQuantity() != null)
+            product.setSalesQuantity(dto.getSalesQuantity());
+        if (dto.getCategory() != null)
+            product.setCategory(categoryService.getCategoryById(dto.getCategory().getId()));
+        if (dto.getBrand() != null)
+            product.setBrand(brandService.getBrandById(dto.getBrand().getId()));
+
+        if (dto.getProductImages() != null) {
+            List<ProductImage> updatedImages = new ArrayList<>();
 
-        return dto;
+            List<Long> updatedImageIds = dto.getProductImages().stream()
+                    .filter(img -> img.getId() != null)
+                    .map(ProductImage::getId)
+                    .collect(Collectors.toList());
+
+            product.getProductImages().stream()
+                    .filter(img -> !updatedImageIds.contains(img.getId()))
+                    .forEach(updatedImages::add);
+
+            for (ProductImage imageDTO : dto.getProductImages()) {
+                if (imageDTO.getId() != null) {
+                    ProductImage existingImage = productImagesRepository.findById(imageDTO.getId())
+                            .orElseThrow(() -> new ResourceNotFoundException(
+                                    "Product Image not found with id: " + imageDTO.getId()));
+                    applyImageData(existingImage, imageDTO.getImageData());
+                    existingImage.setDescription(imageDTO.getDescription());
+                    existingImage.setProduct(product);
+                    updatedImages.add(existingImage);
+                } else {
+                    ProductImage newImage = new ProductImage();
+                    applyImageData(newImage, imageDTO.getImageData());
+                    newImage.setDescription(imageDTO.getDescription());
+                    newImage.setProduct(product);
+                    updatedImages.add(newImage);
+                }
+            }
+
+            product.getProductImages().clear();
+            product.getProductImages().addAll(updatedImages);
+        }
+
+        product.setUpdateDate(LocalDateTime.now());
+
+        if (product.getId() != null && !wasLowStock && product.isBelowMinimumStock()) {
+            lowStockService.recordCrossing(product);
+        }
+    }
+
+    private void applyImageData(ProductImage image, byte[] data) {
+        if (data == null) {
+            return;
+        }
+        applyImageData(image, new ByteArrayInputStream(data), data.length);
+    }
+
+    private void applyImageData(ProductImage image, MultipartFile file) {
+        try (InputStream content = file.getInputStream()) {
+            applyImageData(image, content, file.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException("Error processing image file", e);
+        }
+    }
+
+    private void applyImageData(ProductImage image, InputStream content, long declaredSize) {
+        long maxSize = maxImageSize.toBytes();
+        if (declaredSize > maxSize) {
+            throw new PayloadTooLargeException("Image exceeds the maximum size of " + maxSize + " bytes");
+        }
+
+        try {
+            // only the header is buffered, the rest is streamed to storage which hashes and counts it on the way
+            InputStream data = new BufferedInputStream(new SizeLimitedInputStream(content, maxSize));
+            data.mark(ImageContentTypes.HEADER_LENGTH);
+            String contentType = ImageContentTypes.detect(data.readNBytes(ImageContentTypes.HEADER_LENGTH));
+            if (MediaType.APPLICATION_OCTET_STREAM_VALUE.equals(contentType)) {
+                throw new BadRequestException("Unsupported image format, expected JPEG, PNG, GIF or WebP");
+            }
+            data.reset();
+
+            StoredImage stored = productImageStorage.store(data);
+            image.setStorageKey(stored.getKey());
+            image.setContentHash(stored.getKey());
+            image.setContentLength(stored.getContentLength());
+            image.setContentType(contentType);
+            eventPublisher.publishEvent(new ProductImageStoredEvent(stored.getKey()));
+        } catch (IOException e) {
+            throw new RuntimeException("Error processing image file", e);
+        }
+    }
+
+    private ProductPageDTO toPage(List<ProductSearchDTO> products, int pageSize) {
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            nextCursor = encodeCursor(products.get(pageSize - 1).getId());
+        }
+
+        attachImageIds(products);
+        return new ProductPageDTO(products, nextCursor);
+    }
+
+    private void attachImageIds(List<ProductSearchDTO> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> imageIdsByProduct = new HashMap<>();
+        for (ProductImageIdView image : productImagesRepository.findIdsByProductIdIn(
+                products.stream().map(ProductSearchDTO::getId).collect(Collectors.toList()))) {
+            imageIdsByProduct.computeIfAbsent(image.getProductId(), key -> new ArrayList<>()).add(image.getId());
+        }
+
+        for (ProductSearchDTO product : products) {
+            product.setProductImagesId(imageIdsByProduct.getOrDefault(product.getId(), new ArrayList<>()));
+        }
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
     }
 }
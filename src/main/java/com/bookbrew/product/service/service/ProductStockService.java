@@ -0,0 +1,118 @@
+package com.bookbrew.product.service.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import com.bookbrew.product.service.config.CacheConfig;
+import com.bookbrew.product.service.dto.StockChangeDTO;
+import com.bookbrew.product.service.event.ProductChangedEvent;
+import com.bookbrew.product.service.event.ProductSalesRecordedEvent;
+import com.bookbrew.product.service.exception.BadRequestException;
+import com.bookbrew.product.service.exception.InsufficientStockException;
+import com.bookbrew.product.service.exception.ResourceNotFoundException;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class ProductStockService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private LowStockService lowStockService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void reserve(List<StockChangeDTO> changes) {
+        Set<Long> productIds = apply(changes, productRepository::reserveStock, lowStockService::markIfLow,
+                "Insufficient available stock for product with id: ");
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+    }
+
+    @Transactional
+    public void release(List<StockChangeDTO> changes) {
+        Set<Long> productIds = apply(changes, productRepository::releaseStock, lowStockService::clearIfRestocked,
+                "Not enough reserved stock to release for product with id: ");
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+    }
+
+    @Transactional
+    public void commit(List<StockChangeDTO> changes) {
+        // committing moves units out of both stock and reservedStock, available stock is unchanged
+        Set<Long> productIds = apply(changes, productRepository::commitStock, null,
+                "Not enough reserved stock to commit for product with id: ");
+        eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+    }
+
+    @Transactional
+    public void recordSales(List<StockChangeDTO> sales) {
+        Set<Long> productIds = apply(sales, productRepository::incrementSalesQuantity, null,
+                "Could not record sales for product with id: ");
+        // a counter bump only moves the rankings, it does not need a full re-index of the products
+        eventPublisher.publishEvent(new ProductSalesRecordedEvent(productIds));
+    }
+
+    private Set<Long> apply(List<StockChangeDTO> changes, StockUpdate update, Consumer<Long> afterUpdate,
+            String conflictMessage) {
+        Cache products = cacheManager.getCache(CacheConfig.PRODUCTS);
+        Map<Long, Integer> quantities = mergeByProduct(changes);
+        LocalDateTime now = LocalDateTime.now();
+
+        // one conditional UPDATE per product, in id order so concurrent multi-line orders lock rows consistently
+        for (Map.Entry<Long, Integer> change : quantities.entrySet()) {
+            if (update.apply(change.getKey(), change.getValue(), now) == 0) {
+                if (!productRepository.existsById(change.getKey())) {
+                    throw new ResourceNotFoundException("Product not found with id: " + change.getKey());
+                }
+                throw new InsufficientStockException(conflictMessage + change.getKey());
+            }
+            if (afterUpdate != null) {
+                afterUpdate.accept(change.getKey());
+            }
+            products.evict(change.getKey());
+        }
+        return quantities.keySet();
+    }
+
+    private Map<Long, Integer> mergeByProduct(List<StockChangeDTO> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new BadRequestException("At least one stock change is required");
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (StockChangeDTO change : changes) {
+            if (change.getProductId() == null) {
+                throw new BadRequestException("Product id is required");
+            }
+            if (change.getQuantity() == null || change.getQuantity() <= 0) {
+                throw new BadRequestException("Quantity must be greater than zero");
+            }
+            quantities.merge(change.getProductId(), change.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private interface StockUpdate {
+
+        int apply(Long productId, Integer quantity, LocalDateTime now);
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bookbrew.product.service.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.bookbrew.product.service.exception.PayloadTooLargeException;
+
+class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long limit;
+
+    private long count;
+
+    SizeLimitedInputStream(InputStream in, long limit) {
+        super(in);
+        this.limit = limit;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long read) {
+        count += read;
+        if (count > limit) {
+            throw new PayloadTooLargeException("Image exceeds the maximum size of " + limit + " bytes");
+        }
+    }
+
+}
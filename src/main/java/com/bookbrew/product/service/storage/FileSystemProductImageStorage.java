@@ -0,0 +1,110 @@
+package com.bookbrew.product.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Component
+public class FileSystemProductImageStorage implements ProductImageStorage {
+
+    private final Path root;
+
+    private final Path incoming;
+
+    public FileSystemProductImageStorage(@Value("${bookbrew.images.storage.root}") String root) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.incoming = Files.createDirectories(this.root.resolve("incoming"));
+    }
+
+    @Override
+    public StoredImage store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long contentLength;
+            try (InputStream in = new DigestInputStream(content, digest);
+                    OutputStream out = Files.newOutputStream(temp)) {
+                contentLength = in.transferTo(out);
+            }
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                moveIntoPlace(temp, target);
+            }
+            return new StoredImage(key, contentLength);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource load(String key) {
+        return new FileSystemResource(resolve(key));
+    }
+
+    @Override
+    public void storeVariant(String key, int size, InputStream content) throws IOException {
+        Path target = resolveVariant(key, size);
+        Path temp = Files.createTempFile(incoming, "variant-", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.createDirectories(target.getParent());
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Resource loadVariant(String key, int size) {
+        return new FileSystemResource(resolveVariant(key, size));
+    }
+
+    private Path resolveVariant(String key, int size) {
+        Path original = resolve(key);
+        return original.resolveSibling(key + "-" + size);
+    }
+
+    private Path resolve(String key) {
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid image storage key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // same content stored concurrently, keep the existing copy
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
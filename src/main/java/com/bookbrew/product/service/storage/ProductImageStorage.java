@@ -0,0 +1,18 @@
+package com.bookbrew.product.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.Resource;
+
+public interface ProductImageStorage {
+
+    StoredImage store(InputStream content) throws IOException;
+
+    Resource load(String key);
+
+    void storeVariant(String key, int size, InputStream content) throws IOException;
+
+    Resource loadVariant(String key, int size);
+
+}
@@ -0,0 +1,22 @@
+package com.bookbrew.product.service.storage;
+
+public class StoredImage {
+
+    private final String key;
+
+    private final long contentLength;
+
+    public StoredImage(String key, long contentLength) {
+        this.key = key;
+        this.contentLength = contentLength;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getContentLength() {
+        return contentLength;
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.bookbrew.product.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProductCodeConflictTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoSpyBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    private Category category;
+
+    private Brand brand;
+
+    private Long secondId;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryRepository.save(category);
+
+        brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandRepository.save(brand);
+
+        productRepository.save(newProduct("CODE-1"));
+        secondId = productRepository.save(newProduct("CODE-2")).getId();
+    }
+
+    @Test
+    void creatingAProductWithATakenCodeIsAConflict() throws Exception {
+        mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(productJson("CODE-1")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.details").value("Code 'CODE-1' is already in use"));
+    }
+
+    @Test
+    void renamingAProductToATakenCodeIsAConflict() throws Exception {
+        mockMvc.perform(put("/api/products/{id}", secondId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"code\": \"CODE-1\"}"))
+                .andExpect(status().isConflict());
+
+        assertEquals("CODE-2", productRepository.findById(secondId).orElseThrow().getCode());
+    }
+
+    @Test
+    void uniqueIndexViolationAfterTheCheckIsAConflict() throws Exception {
+        // as if another request inserted the code between the check and the insert
+        doReturn(false).when(productRepository).existsByCode(anyString());
+
+        mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(productJson("CODE-1")))
+                .andExpect(status().isConflict());
+    }
+
+    private String productJson(String code) {
+        return "{\"code\": \"" + code + "\", \"title\": \"Title\", \"description\": \"Description\","
+                + " \"price\": 10.0, \"stock\": 5, \"minimumStock\": 1, \"status\": true, \"weight\": 1.0,"
+                + " \"height\": 1.0, \"width\": 1.0, \"length\": 1.0,"
+                + " \"category\": {\"id\": " + category.getId() + "}, \"brand\": {\"id\": " + brand.getId() + "}}";
+    }
+
+    private Product newProduct(String code) {
+        Product product = new Product();
+        product.setCode(code);
+        product.setTitle("Title " + code);
+        product.setDescription("Description " + code);
+        product.setPrice(10.0);
+        product.setStock(5);
+        product.setMinimumStock(1);
+        product.setStatus(true);
+        product.setWeight(1.0);
+        product.setHeight(1.0);
+        product.setWidth(1.0);
+        product.setLength(1.0);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+        return product;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.bookbrew.product.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bookbrew.product.service.service.ProductExportService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("virtual-threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ProductExportVirtualThreadTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoSpyBean
+    private ProductExportService productExportService;
+
+    @Test
+    void exportStreamsOnAVirtualThread() throws Exception {
+        AtomicReference<Thread> exportThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            exportThread.set(Thread.currentThread());
+            return invocation.callRealMethod();
+        }).when(productExportService).exportProducts(any(OutputStream.class), any(MediaType.class));
+
+        MvcResult result = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // the tests compile for Java 17, where Thread.isVirtual() does not exist yet
+        assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(exportThread.get()),
+                "export ran on " + exportThread.get());
+    }
+
+}
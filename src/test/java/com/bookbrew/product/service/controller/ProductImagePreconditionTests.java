@@ -0,0 +1,124 @@
+package com.bookbrew.product.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bookbrew.product.service.config.CacheConfig;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.model.ProductImage;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductImagesRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+// not @Transactional: the version only moves when the update commits
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductImagePreconditionTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImagesRepository productImagesRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long productId;
+
+    private Long imageId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryRepository.save(category);
+
+        Brand brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandRepository.save(brand);
+
+        Product product = new Product();
+        product.setCode("IMAGE-1");
+        product.setTitle("Image owner");
+        product.setDescription("Image owner");
+        product.setPrice(10.0);
+        product.setStock(1);
+        product.setMinimumStock(0);
+        product.setStatus(true);
+        product.setWeight(1.0);
+        product.setHeight(1.0);
+        product.setWidth(1.0);
+        product.setLength(1.0);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+        productId = productRepository.save(product).getId();
+
+        ProductImage image = new ProductImage();
+        image.setDescription("Cover");
+        image.setProduct(product);
+        imageId = productImagesRepository.save(image).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "change_events", "product_images", "products", "categories",
+                "brands");
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+    }
+
+    @Test
+    void concurrentMetadataEditWithAStaleVersionIsRejected() throws Exception {
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/products/{productId}/images/{imageId}", productId, imageId)
+                .param("description", "Front cover")
+                .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        // a second editor still holding version 0
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/products/{productId}/images/{imageId}", productId, imageId)
+                .param("description", "Back cover")
+                .header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("Front cover", productImagesRepository.findById(imageId).orElseThrow().getDescription());
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.bookbrew.product.service.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookbrew.product.service.repository.CategoryRepository;
+
+@SpringBootTest
+class StatementCountingDataSourceTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void jdbcTemplateAndHibernateStatementsAreBothCounted() {
+        assertTrue(dataSource instanceof StatementCountingDataSource);
+
+        StatementCountingDataSource.start();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class);
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM brands WHERE id > ?", Long.class, 0L);
+        jdbcTemplate.batchUpdate("DELETE FROM categories WHERE id = -1", "DELETE FROM brands WHERE id = -1");
+        categoryRepository.count();
+
+        assertEquals(5, StatementCountingDataSource.stop());
+    }
+
+}
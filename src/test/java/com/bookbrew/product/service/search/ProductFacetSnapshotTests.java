@@ -0,0 +1,104 @@
+package com.bookbrew.product.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bookbrew.product.service.dto.FacetValueDTO;
+import com.bookbrew.product.service.dto.ProductFacetsDTO;
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+
+class ProductFacetSnapshotTests {
+
+    private ProductFacetSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new ProductFacetSnapshot(new PriceBands(new double[] { 0, 10, 25, 50, 100 }));
+        snapshot.put(product(1L, 1L, 1L, 5.0, 10));
+        snapshot.put(product(2L, 1L, 2L, 30.0, 0));
+        snapshot.put(product(3L, 2L, 2L, 120.0, 4));
+    }
+
+    @Test
+    void countsFollowUpdates() {
+        snapshot.put(product(2L, 2L, 1L, 12.0, 3));
+
+        ProductFacetsDTO facets = snapshot.facets(new ProductFilterDTO(), null, 10);
+
+        assertEquals(3, facets.getTotal());
+        assertEquals(Map.of("1", 1L, "2", 2L), counts(facets.getCategories()));
+        assertEquals(Map.of("1", 2L, "2", 1L), counts(facets.getBrands()));
+        assertEquals(Map.of("0-10", 1L, "10-25", 1L, "100+", 1L), counts(facets.getPrices()));
+        assertEquals(Map.of("inStock", 3L), counts(facets.getAvailability()));
+    }
+
+    @Test
+    void countsFollowDeletes() {
+        snapshot.remove(3L);
+
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setBrandId(2L);
+        ProductFacetsDTO facets = snapshot.facets(filter, null, 10);
+
+        assertEquals(1, facets.getTotal());
+        assertEquals(List.of(2L), facets.getIds());
+        assertEquals(Map.of("1", 1L), counts(facets.getCategories()));
+        assertEquals(Map.of("outOfStock", 1L), counts(facets.getAvailability()));
+    }
+
+    @Test
+    void minStockFiltersOnTheStockInStockCounts() {
+        ProductSearchDTO reserved = product(4L, 1L, 1L, 15.0, 6);
+        reserved.setReservedStock(6);
+        snapshot.put(reserved);
+
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setMinStock(1);
+        ProductFacetsDTO facets = snapshot.facets(filter, null, 10);
+
+        assertEquals(List.of(1L, 3L), facets.getIds());
+        assertEquals(Map.of("inStock", 2L), counts(facets.getAvailability()));
+        assertEquals(List.of(2L, 4L), snapshot.facets(new ProductFilterDTO(), false, 10).getIds());
+    }
+
+    @Test
+    void removedRowsAreReused() {
+        for (int i = 0; i < 100; i++) {
+            snapshot.remove(1L);
+            snapshot.put(product(1L, 1L, 1L, 5.0, 10));
+        }
+        snapshot.remove(2L);
+        snapshot.put(product(4L, 3L, 1L, 60.0, 1));
+
+        ProductFilterDTO filter = new ProductFilterDTO();
+        filter.setCategoryId(3L);
+
+        assertEquals(3, snapshot.allocatedRows());
+        assertEquals(List.of(4L), snapshot.facets(filter, null, 10).getIds());
+        assertEquals(3, snapshot.facets(new ProductFilterDTO(), null, 10).getTotal());
+    }
+
+    private static Map<String, Long> counts(List<FacetValueDTO> values) {
+        return values.stream().collect(Collectors.toMap(FacetValueDTO::getValue, FacetValueDTO::getCount));
+    }
+
+    private static ProductSearchDTO product(Long id, Long categoryId, Long brandId, double price, int stock) {
+        ProductSearchDTO product = new ProductSearchDTO();
+        product.setId(id);
+        product.setCategoryId(categoryId);
+        product.setBrandId(brandId);
+        product.setPrice(price);
+        product.setStock(stock);
+        product.setReservedStock(0);
+        product.setStatus(true);
+        return product;
+    }
+
+}
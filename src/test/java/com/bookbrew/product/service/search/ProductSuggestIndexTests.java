@@ -0,0 +1,144 @@
+package com.bookbrew.product.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.SuggestionDTO;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+
+class ProductSuggestIndexTests {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+    }
+
+    @Test
+    void ranksByWeightThenShorterText() {
+        index.putProduct(product(1L, "Java Concurrency in Practice", "JCIP", 5, 1L));
+        index.putProduct(product(2L, "Effective Java", "EJ3", 9, 1L));
+        index.putProduct(product(3L, "Java Puzzlers", "PUZ", 5, 1L));
+
+        assertEquals(List.of("Effective Java", "Java Puzzlers", "Java Concurrency in Practice"),
+                texts(index.suggest("jav", 10)));
+        assertEquals(List.of("Effective Java", "Java Puzzlers"), texts(index.suggest("java", 2)));
+        assertEquals(List.of("Java Concurrency in Practice"), texts(index.suggest("conc", 10)));
+    }
+
+    @Test
+    void everyWordStartMatchesAcrossTheRestOfTheTitle() {
+        index.putProduct(product(1L, "The Art of Computer Programming", "TAOCP", 5, 1L));
+        index.putProduct(product(2L, "Computer Networks", "NET", 3, 1L));
+
+        assertEquals(List.of("The Art of Computer Programming", "Computer Networks"),
+                texts(index.suggest("comp", 10)));
+        assertEquals(List.of("The Art of Computer Programming"), texts(index.suggest("computer prog", 10)));
+        assertEquals(List.of("The Art of Computer Programming"), texts(index.suggest("of computer", 10)));
+        assertEquals(List.of(), texts(index.suggest("programming art", 10)));
+
+        index.removeProduct(1L);
+        assertEquals(List.of("Computer Networks"), texts(index.suggest("comp", 10)));
+        assertEquals(List.of(), texts(index.suggest("computer prog", 10)));
+    }
+
+    @Test
+    void bestMatchIsFoundBeyondTheScanLimit() {
+        for (long id = 1; id <= 6000; id++) {
+            index.putProduct(product(id, "Java Basics " + id, "JB-" + id, 1, 1L));
+        }
+        // sorts after every other "java basics" key, so a capped key-order scan would never reach it
+        index.putProduct(product(9999L, "Java Basics zzz", "JB-ZZZ", 1000, 1L));
+
+        assertEquals(List.of("Java Basics zzz"), texts(index.suggest("java basics", 1)));
+        assertEquals(List.of("Java Basics zzz"), texts(index.suggest("java", 1)));
+        assertEquals(List.of("Java Basics zzz"), texts(index.suggest("ja", 1)));
+        assertEquals(List.of("Java Basics 6000"), texts(index.suggest("java basics 6000", 1)));
+    }
+
+    @Test
+    void removedProductsAreNoLongerSuggested() {
+        index.putProduct(product(1L, "Java Puzzlers", "PUZ", 5, 1L));
+        index.putProduct(product(2L, "Java Generics", "GEN", 3, 1L));
+
+        index.removeProduct(1L);
+        ProductSearchDTO inactive = product(2L, "Java Generics", "GEN", 3, 1L);
+        inactive.setStatus(false);
+        index.putProduct(inactive);
+
+        assertEquals(List.of(), index.suggest("ja", 10));
+        assertEquals(List.of(), index.suggest("java", 10));
+    }
+
+    @Test
+    void categoryWeightsFollowIndexedProductSales() {
+        index.putCategory(category(1L, "Programming"));
+        index.putCategory(category(2L, "Prose"));
+        index.putProduct(product(1L, "Java Puzzlers", "PUZ", 5, 1L));
+        index.putProduct(product(2L, "Odes", "ODE", 3, 2L));
+
+        assertEquals(List.of("Programming", "Prose"), texts(index.suggest("pro", 10)));
+
+        index.putProduct(product(2L, "Odes", "ODE", 8, 2L));
+        assertEquals(List.of("Prose", "Programming"), texts(index.suggest("pro", 10)));
+
+        index.removeProduct(2L);
+        assertEquals(List.of("Programming", "Prose"), texts(index.suggest("pro", 10)));
+    }
+
+    @Test
+    void renamedCategoryAndBrandAreReindexed() {
+        index.putProduct(product(1L, "Java Puzzlers", "PUZ", 5, 1L));
+        index.putCategory(category(1L, "Programming"));
+        index.putBrand(brand(1L, "Addison Wesley"));
+
+        index.putCategory(category(1L, "Software"));
+        index.putBrand(brand(1L, "Pearson"));
+
+        assertEquals(List.of(), index.suggest("prog", 10));
+        assertEquals(List.of(), index.suggest("addison", 10));
+        assertEquals(List.of("Software"), texts(index.suggest("soft", 10)));
+        assertEquals(List.of("Pearson"), texts(index.suggest("pear", 10)));
+    }
+
+    private static List<String> texts(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getText).collect(Collectors.toList());
+    }
+
+    private static ProductSearchDTO product(Long id, String title, String code, int salesQuantity, Long categoryId) {
+        ProductSearchDTO product = new ProductSearchDTO();
+        product.setId(id);
+        product.setTitle(title);
+        product.setCode(code);
+        product.setSalesQuantity(salesQuantity);
+        product.setCategoryId(categoryId);
+        product.setBrandId(1L);
+        product.setStatus(true);
+        return product;
+    }
+
+    private static Category category(Long id, String description) {
+        Category category = new Category();
+        category.setId(id);
+        category.setDescription(description);
+        category.setStatus(true);
+        return category;
+    }
+
+    private static Brand brand(Long id, String description) {
+        Brand brand = new Brand();
+        brand.setId(id);
+        brand.setDescription(description);
+        brand.setStatus(true);
+        return brand;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.bookbrew.product.service.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.dto.TopSellerDTO;
+
+class TopSellerRankingTests {
+
+    private TopSellerRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new TopSellerRanking();
+        ranking.put(product(1L, 1L, 10));
+        ranking.put(product(2L, 1L, 20));
+        ranking.put(product(3L, 2L, 30));
+    }
+
+    @Test
+    void ranksBySalesPerCategory() {
+        assertEquals(List.of(3L, 2L, 1L), ids(ranking.top(null, 10)));
+        assertEquals(List.of(2L, 1L), ids(ranking.top(1L, 10)));
+        assertEquals(List.of(3L), ids(ranking.top(null, 1)));
+    }
+
+    @Test
+    void staleUpdateDoesNotOverwriteNewerEntry() {
+        ranking.put(product(1L, 3L, 50));
+        ranking.put(product(1L, 2L, 40));
+
+        assertEquals(List.of(1L, 3L, 2L), ids(ranking.top(null, 10)));
+        assertEquals(50, ranking.top(null, 1).get(0).getSalesQuantity());
+    }
+
+    @Test
+    void rebuildKeepsUpdatesMadeWhileReadingTheSnapshot() {
+        ranking.replaceAll(() -> {
+            // the snapshot was read before these commits
+            ranking.put(product(1L, 2L, 100));
+            ranking.remove(3L);
+            return Stream.of(seller(1L, 1L, 1L, 10), seller(2L, 1L, 1L, 20), seller(3L, 1L, 2L, 30));
+        });
+
+        assertEquals(List.of(1L, 2L), ids(ranking.top(null, 10)));
+        assertEquals(100, ranking.top(null, 1).get(0).getSalesQuantity());
+    }
+
+    @Test
+    void rebuildPrefersSnapshotWhenItIsNewer() {
+        ranking.replaceAll(() -> {
+            // an event for an older version delivered late, the snapshot already holds version 3
+            ranking.put(product(2L, 2L, 25));
+            return Stream.of(seller(1L, 1L, 1L, 10), seller(2L, 3L, 1L, 5), seller(3L, 1L, 2L, 30));
+        });
+
+        assertEquals(List.of(3L, 1L, 2L), ids(ranking.top(null, 10)));
+
+        ranking.put(product(2L, 4L, 60));
+        assertEquals(List.of(2L, 3L, 1L), ids(ranking.top(null, 10)));
+    }
+
+    private static List<Long> ids(List<TopSellerDTO> sellers) {
+        return sellers.stream().map(TopSellerDTO::getProductId).collect(Collectors.toList());
+    }
+
+    private static TopSellerDTO seller(Long id, Long version, Long categoryId, long salesQuantity) {
+        return new TopSellerDTO(id, version, categoryId, "SKU-" + id, "Product " + id, salesQuantity);
+    }
+
+    private static ProductSearchDTO product(Long id, Long version, int salesQuantity) {
+        ProductSearchDTO product = new ProductSearchDTO();
+        product.setId(id);
+        product.setVersion(version);
+        product.setCategoryId(id == 3L ? 2L : 1L);
+        product.setCode("SKU-" + id);
+        product.setTitle("Product " + id);
+        product.setSalesQuantity(salesQuantity);
+        product.setStatus(true);
+        return product;
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.bookbrew.product.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookbrew.product.service.dto.ChangeEventDTO;
+import com.bookbrew.product.service.dto.ChangeFeedDTO;
+import com.bookbrew.product.service.event.ProductChangedEvent;
+import com.bookbrew.product.service.exception.ResourceGoneException;
+
+// not @Transactional: the relay only stamps rows other transactions have committed
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeFeedServiceTests {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "change_events", "change_feed_state");
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "change_events", "change_feed_state");
+    }
+
+    @Test
+    void pagesThroughChangesInSequenceOrder() {
+        recordProductChanges(List.of(11L, 12L, 13L, 14L, 15L));
+        changeFeedService.relay();
+
+        ChangeFeedDTO first = changeFeedService.findChanges(0L, 2);
+        assertEquals(List.of(11L, 12L), entityIds(first));
+        assertEquals(List.of(1L, 2L), sequences(first));
+        assertTrue(first.getHasMore());
+
+        ChangeFeedDTO second = changeFeedService.findChanges(first.getNextSince(), 2);
+        assertEquals(List.of(13L, 14L), entityIds(second));
+        assertTrue(second.getHasMore());
+
+        ChangeFeedDTO third = changeFeedService.findChanges(second.getNextSince(), 2);
+        assertEquals(List.of(15L), entityIds(third));
+        assertFalse(third.getHasMore());
+
+        ChangeFeedDTO empty = changeFeedService.findChanges(third.getNextSince(), 2);
+        assertTrue(empty.getChanges().isEmpty());
+        assertEquals(third.getNextSince(), empty.getNextSince());
+    }
+
+    @Test
+    void changesAreHiddenUntilTheRelayStampsThem() {
+        recordProductChanges(List.of(21L));
+
+        assertTrue(changeFeedService.findChanges(0L, 10).getChanges().isEmpty());
+
+        changeFeedService.relay();
+        assertEquals(List.of(21L), entityIds(changeFeedService.findChanges(0L, 10)));
+    }
+
+    @Test
+    void slowTransactionIsNotSkippedByConsumers() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // takes the lower id first but commits last
+            Future<?> slow = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                changeFeedService.onProductChanged(new ProductChangedEvent(List.of(31L)));
+                inserted.countDown();
+                await(commit);
+            }));
+            assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+            recordProductChanges(List.of(32L));
+            changeFeedService.relay();
+
+            ChangeFeedDTO first = changeFeedService.findChanges(0L, 10);
+            assertEquals(List.of(32L), entityIds(first));
+
+            commit.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            changeFeedService.relay();
+
+            ChangeFeedDTO second = changeFeedService.findChanges(first.getNextSince(), 10);
+            assertEquals(List.of(31L), entityIds(second));
+            assertEquals(List.of(first.getNextSince() + 1), sequences(second));
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cursorBehindThePurgedRangeIsGone() throws Exception {
+        recordProductChanges(List.of(41L, 42L, 43L));
+        changeFeedService.relay();
+        jdbcTemplate.update("UPDATE change_events SET creation_date = creation_date - INTERVAL '30' DAY"
+                + " WHERE sequence_number <= 2");
+
+        changeFeedService.purge();
+
+        assertThrows(ResourceGoneException.class, () -> changeFeedService.findChanges(0L, 10));
+        assertThrows(ResourceGoneException.class, () -> changeFeedService.findChanges(1L, 10));
+        assertEquals(List.of(43L), entityIds(changeFeedService.findChanges(2L, 10)));
+        mockMvc.perform(get("/api/products/changes").param("since", "1"))
+                .andExpect(status().isGone());
+    }
+
+    private void recordProductChanges(List<Long> productIds) {
+        transactionTemplate.executeWithoutResult(
+                status -> changeFeedService.onProductChanged(new ProductChangedEvent(productIds)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Long> entityIds(ChangeFeedDTO feed) {
+        return feed.getChanges().stream().map(ChangeEventDTO::getEntityId).collect(Collectors.toList());
+    }
+
+    private static List<Long> sequences(ChangeFeedDTO feed) {
+        return feed.getChanges().stream().map(ChangeEventDTO::getSequence).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.bookbrew.product.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import com.bookbrew.product.service.dto.ProductImportResultDTO;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+// not @Transactional: the import commits its batches in transactions of its own
+@SpringBootTest
+class ProductExportServiceTests {
+
+    private static final String IMPORTED_COLUMNS = "SELECT code, title, description, price, stock, minimum_stock,"
+            + " status, weight, height, width, length, sales_quantity, category_id, brand_id"
+            + " FROM products ORDER BY code";
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryRepository.save(category);
+
+        Brand brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandRepository.save(brand);
+
+        productRepository.save(newProduct("EXP-1", "Plain title", "Plain description", 12.5, true, category, brand));
+        // separators, quotes and line breaks have to survive both formats
+        productRepository.save(newProduct("EXP-2", "Coffee, \"dark\" roast", "Line one\nLine two", 7.25, false,
+                category, brand));
+        productRepository.save(newProduct("EXP-3", "Café & Crème", "Ünïcödé", 99.99, true, category, brand));
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "change_events", "products", "categories", "brands");
+    }
+
+    @Test
+    void ndjsonExportImportsBackUnchanged() throws Exception {
+        assertRoundTrip(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void csvExportImportsBackUnchanged() throws Exception {
+        assertRoundTrip(ProductImportService.TEXT_CSV);
+    }
+
+    private void assertRoundTrip(MediaType format) throws Exception {
+        List<Map<String, Object>> exported = jdbcTemplate.queryForList(IMPORTED_COLUMNS);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        productExportService.exportProducts(output, format);
+
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "products");
+        ProductImportResultDTO result = productImportService.importProducts(
+                new ByteArrayInputStream(output.toByteArray()), format);
+
+        assertEquals(List.of(), result.getErrors());
+        assertEquals(3, result.getImported());
+        assertEquals(exported, jdbcTemplate.queryForList(IMPORTED_COLUMNS));
+    }
+
+    private static Product newProduct(String code, String title, String description, double price, boolean status,
+            Category category, Brand brand) {
+        Product product = new Product();
+        product.setCode(code);
+        product.setTitle(title);
+        product.setDescription(description);
+        product.setPrice(price);
+        product.setStock(20);
+        product.setMinimumStock(5);
+        product.setStatus(status);
+        product.setWeight(0.5);
+        product.setHeight(20.0);
+        product.setWidth(14.0);
+        product.setLength(2.5);
+        product.setSalesQuantity(3);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+        return product;
+    }
+
+}
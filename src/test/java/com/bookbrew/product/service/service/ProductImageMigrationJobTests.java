@@ -0,0 +1,139 @@
+package com.bookbrew.product.service.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+import com.bookbrew.product.service.storage.ProductImageStorage;
+
+// the legacy image_data column is no longer mapped, so the test adds it the way an old schema still has it
+@SpringBootTest
+class ProductImageMigrationJobTests {
+
+    @Autowired
+    private ProductImageMigrationJob productImageMigrationJob;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private ProductImageStorage productImageStorage;
+
+    private List<Long> imageIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("ALTER TABLE product_images ADD COLUMN image_data BLOB");
+
+        Category category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryRepository.save(category);
+
+        Brand brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandRepository.save(brand);
+
+        Long productId = productRepository.save(newProduct(category, brand)).getId();
+        imageIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO product_images (version, description, image_data, product_id)"
+                    + " VALUES (0, ?, ?, ?)", "Image " + i, ("legacy image " + i).getBytes(StandardCharsets.UTF_8),
+                    productId);
+            imageIds.add(jdbcTemplate.queryForObject("SELECT MAX(id) FROM product_images", Long.class));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "product_images", "products", "categories", "brands");
+        jdbcTemplate.execute("ALTER TABLE product_images DROP COLUMN image_data");
+    }
+
+    @Test
+    void unreadableImageIsSkippedAndTheRestAreMigrated() throws IOException {
+        doThrow(new IOException("unreadable")).doCallRealMethod()
+                .when(productImageStorage).store(any(InputStream.class));
+
+        productImageMigrationJob.migrateAll();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertNotNull(storageKey(imageIds.get(1)));
+            assertNotNull(storageKey(imageIds.get(2)));
+        });
+        assertNull(storageKey(imageIds.get(0)));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT image_data FROM product_images WHERE id = ?",
+                byte[].class, imageIds.get(0)));
+
+        // a later run picks the failed row up again
+        doCallRealMethod().when(productImageStorage).store(any(InputStream.class));
+        productImageMigrationJob.migrateAll();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertNotNull(storageKey(imageIds.get(0))));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_images WHERE image_data IS NOT NULL", Long.class));
+    }
+
+    private String storageKey(Long id) {
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT storage_key FROM product_images WHERE id = ?", id);
+        return (String) row.get("storage_key");
+    }
+
+    private static Product newProduct(Category category, Brand brand) {
+        Product product = new Product();
+        product.setCode("MIGRATE-1");
+        product.setTitle("Migrated");
+        product.setDescription("Migrated");
+        product.setPrice(10.0);
+        product.setStock(1);
+        product.setMinimumStock(0);
+        product.setStatus(true);
+        product.setWeight(1.0);
+        product.setHeight(1.0);
+        product.setWidth(1.0);
+        product.setLength(1.0);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+        return product;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.bookbrew.product.service.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bookbrew.product.service.event.ProductImageStoredEvent;
+import com.bookbrew.product.service.storage.ProductImageStorage;
+
+class ProductImageVariantServiceTests {
+
+    private ProductImageStorage productImageStorage;
+
+    private ProductImageVariantService productImageVariantService;
+
+    @BeforeEach
+    void setUp() {
+        productImageStorage = mock(ProductImageStorage.class);
+        when(productImageStorage.loadVariant(any(), anyInt())).thenReturn(mock(Resource.class));
+        productImageVariantService = new ProductImageVariantService(new int[] { 16, 64 }, 0.8f, 10_000);
+        ReflectionTestUtils.setField(productImageVariantService, "productImageStorage", productImageStorage);
+    }
+
+    @Test
+    void generatesVariantsWithinThePixelLimit() throws IOException {
+        when(productImageStorage.load("small")).thenReturn(new ByteArrayResource(png(100, 100)));
+
+        productImageVariantService.generateVariants(new ProductImageStoredEvent("small"));
+
+        verify(productImageStorage).storeVariant(eq("small"), eq(16), any(InputStream.class));
+        verify(productImageStorage).storeVariant(eq("small"), eq(64), any(InputStream.class));
+    }
+
+    @Test
+    void skipsImagesDeclaringMorePixelsThanAllowed() throws IOException {
+        // a few hundred bytes on disk, but the header claims 50000 x 50000 pixels
+        when(productImageStorage.load("huge")).thenReturn(new ByteArrayResource(withDimensions(png(1, 1), 50_000)));
+
+        productImageVariantService.generateVariants(new ProductImageStoredEvent("huge"));
+
+        verify(productImageStorage, never()).storeVariant(any(), anyInt(), any());
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] withDimensions(byte[] png, int size) {
+        // IHDR follows the 8 byte signature: length, type, width, height, then the chunk CRC at offset 29
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, size);
+        buffer.putInt(20, size);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return png;
+    }
+
+}
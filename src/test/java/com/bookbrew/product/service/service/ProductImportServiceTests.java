@@ -0,0 +1,177 @@
+package com.bookbrew.product.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bookbrew.product.service.dto.ProductImportErrorDTO;
+import com.bookbrew.product.service.dto.ProductImportResultDTO;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+// not @Transactional: each import batch commits in its own transaction
+@SpringBootTest
+class ProductImportServiceTests {
+
+    private static final String CSV_HEADER = "code,title,description,price,stock,minimumStock,status,"
+            + "weight,height,width,length,categoryId,brandId\n";
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    private Long brandId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryId = categoryRepository.save(category).getId();
+
+        Brand brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandId = brandRepository.save(brand).getId();
+
+        Product existing = new Product();
+        existing.setCode("EXISTING");
+        existing.setTitle("Existing");
+        existing.setDescription("Existing");
+        existing.setPrice(10.0);
+        existing.setStock(1);
+        existing.setMinimumStock(0);
+        existing.setStatus(true);
+        existing.setWeight(1.0);
+        existing.setHeight(1.0);
+        existing.setWidth(1.0);
+        existing.setLength(1.0);
+        existing.setCategory(category);
+        existing.setBrand(brand);
+        existing.setCreationDate(LocalDateTime.now());
+        productRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "change_events", "products", "categories", "brands");
+    }
+
+    @Test
+    void malformedAndInvalidCsvRowsAreRejectedWithTheirRowNumbers() {
+        String csv = CSV_HEADER
+                + csvRow("IMP-1", "12.5", categoryId)
+                + csvRow("IMP-2", "not-a-price", categoryId)
+                + csvRow("IMP-3", "8.0", 999L)
+                + csvRow("IMP-4", "9.0", categoryId);
+
+        ProductImportResultDTO result = importCsv(csv);
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(2L, 3L), rows(result));
+        assertEquals("Category not found with id: 999", result.getErrors().get(1).getMessage());
+        assertEquals(List.of("EXISTING", "IMP-1", "IMP-4"), codes());
+    }
+
+    @Test
+    void truncatedNdjsonStopsTheImportAndKeepsEarlierRows() {
+        String ndjson = jsonRow("IMP-1") + "\n" + jsonRow("IMP-2") + "\n" + "{\"code\": \"IMP-3\", \"title\": \n";
+
+        ProductImportResultDTO result = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), MediaType.APPLICATION_NDJSON);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getRejected());
+        assertEquals(List.of(3L), rows(result));
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Malformed input, import stopped"));
+        assertEquals(List.of("EXISTING", "IMP-1", "IMP-2"), codes());
+    }
+
+    @Test
+    void duplicateCodesFailOnlyTheirRowsWhenABatchIsRetried() {
+        Object batchSize = ReflectionTestUtils.getField(productImportService, "batchSize");
+        ReflectionTestUtils.setField(productImportService, "batchSize", 2);
+        try {
+            // the second batch fails on the duplicate and is retried row by row
+            String csv = CSV_HEADER
+                    + csvRow("IMP-1", "1.0", categoryId)
+                    + csvRow("IMP-2", "2.0", categoryId)
+                    + csvRow("IMP-3", "3.0", categoryId)
+                    + csvRow("EXISTING", "4.0", categoryId)
+                    + csvRow("IMP-5", "5.0", categoryId)
+                    + csvRow("IMP-1", "6.0", categoryId);
+
+            ProductImportResultDTO result = importCsv(csv);
+
+            assertEquals(4, result.getImported());
+            assertEquals(2, result.getRejected());
+            assertEquals(List.of(4L, 6L), rows(result));
+            assertEquals(List.of("EXISTING", "IMP-1"),
+                    result.getErrors().stream().map(ProductImportErrorDTO::getCode).collect(Collectors.toList()));
+            assertEquals("Product already exists with code: EXISTING", result.getErrors().get(0).getMessage());
+            assertEquals(List.of("EXISTING", "IMP-1", "IMP-2", "IMP-3", "IMP-5"), codes());
+            assertEquals(1.0, jdbcTemplate.queryForObject("SELECT price FROM products WHERE code = 'IMP-1'",
+                    Double.class));
+        } finally {
+            ReflectionTestUtils.setField(productImportService, "batchSize", batchSize);
+        }
+    }
+
+    private ProductImportResultDTO importCsv(String csv) {
+        return productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.TEXT_CSV);
+    }
+
+    private String csvRow(String code, String price, Long category) {
+        return String.join(",", code, "Title " + code, "Description " + code, price, "5", "1", "true",
+                "1.0", "1.0", "1.0", "1.0", String.valueOf(category), String.valueOf(brandId)) + "\n";
+    }
+
+    private String jsonRow(String code) {
+        return "{\"code\": \"" + code + "\", \"title\": \"Title\", \"description\": \"Description\", \"price\": 10.0,"
+                + " \"stock\": 5, \"minimumStock\": 1, \"status\": true, \"weight\": 1.0, \"height\": 1.0,"
+                + " \"width\": 1.0, \"length\": 1.0, \"categoryId\": " + categoryId + ", \"brandId\": " + brandId + "}";
+    }
+
+    private List<String> codes() {
+        return jdbcTemplate.queryForList("SELECT code FROM products ORDER BY code", String.class);
+    }
+
+    private static List<Long> rows(ProductImportResultDTO result) {
+        return result.getErrors().stream().map(ProductImportErrorDTO::getRow).collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.bookbrew.product.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductPageDTO;
+import com.bookbrew.product.service.dto.ProductSearchDTO;
+import com.bookbrew.product.service.exception.BadRequestException;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProductServicePagingTests {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Category category;
+
+    private Brand brand;
+
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryRepository.save(category);
+
+        brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandRepository.save(brand);
+
+        productIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            productIds.add(productRepository.save(newProduct("PAGE-" + i)).getId());
+        }
+    }
+
+    @Test
+    void pagesStayStableWhenProductsAreAddedAndRemoved() {
+        ProductPageDTO first = productService.findPage(null, 2, new ProductFilterDTO());
+        assertEquals(productIds.subList(0, 2), ids(first));
+        assertNotNull(first.getNextCursor());
+
+        // neither change may shift the rows the cursor has not reached yet
+        productRepository.deleteById(productIds.get(0));
+        Long added = productRepository.save(newProduct("PAGE-NEW")).getId();
+
+        ProductPageDTO second = productService.findPage(first.getNextCursor(), 2, new ProductFilterDTO());
+        assertEquals(productIds.subList(2, 4), ids(second));
+
+        ProductPageDTO third = productService.findPage(second.getNextCursor(), 2, new ProductFilterDTO());
+        assertEquals(List.of(productIds.get(4), added), ids(third));
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        ProductFilterDTO filter = new ProductFilterDTO();
+        String notBase64 = "not a cursor!";
+        String notAnId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> productService.findPage(notBase64, 2, filter));
+        assertThrows(BadRequestException.class, () -> productService.findPage(notAnId, 2, filter));
+        mockMvc.perform(get("/api/products").param("cursor", notAnId))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static List<Long> ids(ProductPageDTO page) {
+        return page.getProducts().stream().map(ProductSearchDTO::getId).collect(Collectors.toList());
+    }
+
+    private Product newProduct(String code) {
+        Product product = new Product();
+        product.setCode(code);
+        product.setTitle("Title " + code);
+        product.setDescription("Description " + code);
+        product.setPrice(10.0);
+        product.setStock(10);
+        product.setMinimumStock(1);
+        product.setStatus(true);
+        product.setWeight(1.0);
+        product.setHeight(1.0);
+        product.setWidth(1.0);
+        product.setLength(1.0);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+        return product;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.bookbrew.product.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bookbrew.product.service.dto.ProductFilterDTO;
+import com.bookbrew.product.service.dto.ProductPageDTO;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.model.ProductImage;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@Transactional
+class ProductServiceQueryCountTests {
+
+    private static final int PRODUCT_COUNT = 25;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryRepository.save(category);
+
+        Brand brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandRepository.save(brand);
+
+        productIds = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            productIds.add(productRepository.save(newProduct(i, category, brand)).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listingPageUsesConstantNumberOfStatements() {
+        ProductPageDTO page = productService.findPage(null, PRODUCT_COUNT, new ProductFilterDTO());
+
+        assertEquals(PRODUCT_COUNT, page.getProducts().size());
+        assertTrue(page.getProducts().stream().allMatch(product -> product.getProductImagesId().size() == 2));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void detailReadUsesConstantNumberOfStatements() {
+        productService.findById(productIds.get(0));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void detailGraphLoadsProductWithAssociationsInOneStatement() {
+        Product product = productRepository.findWithDetailsById(productIds.get(0)).orElseThrow();
+
+        assertEquals("Books", product.getCategory().getDescription());
+        assertEquals("BookBrew", product.getBrand().getDescription());
+        assertEquals(2, product.getProductImages().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Product newProduct(int index, Category category, Brand brand) {
+        Product product = new Product();
+        product.setCode("SKU-" + index);
+        product.setTitle("Product " + index);
+        product.setDescription("Description " + index);
+        product.setPrice(10.0 + index);
+        product.setStock(100);
+        product.setMinimumStock(10);
+        product.setStatus(true);
+        product.setWeight(1.0);
+        product.setHeight(1.0);
+        product.setWidth(1.0);
+        product.setLength(1.0);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+
+        List<ProductImage> images = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ProductImage image = new ProductImage();
+            image.setDescription("Image " + i);
+            image.setProduct(product);
+            images.add(image);
+        }
+        product.setProductImages(images);
+        return product;
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.bookbrew.product.service.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bookbrew.product.service.config.CacheConfig;
+import com.bookbrew.product.service.dto.StockChangeDTO;
+import com.bookbrew.product.service.exception.InsufficientStockException;
+import com.bookbrew.product.service.model.Brand;
+import com.bookbrew.product.service.model.Category;
+import com.bookbrew.product.service.model.Product;
+import com.bookbrew.product.service.repository.BrandRepository;
+import com.bookbrew.product.service.repository.CategoryRepository;
+import com.bookbrew.product.service.repository.ProductRepository;
+
+// not @Transactional: the stock updates have to commit for the after-commit cache eviction to run
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductStockServiceTests {
+
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long categoryId;
+
+    private Long firstId;
+
+    private Long secondId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setDescription("Books");
+        category.setStatus(true);
+        categoryId = categoryRepository.save(category).getId();
+
+        Brand brand = new Brand();
+        brand.setDescription("BookBrew");
+        brand.setStatus(true);
+        brandRepository.save(brand);
+
+        firstId = productRepository.save(newProduct("STOCK-1", 10, category, brand)).getId();
+        secondId = productRepository.save(newProduct("STOCK-2", 5, category, brand)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "low_stock_notifications", "change_events", "products",
+                "categories", "brands");
+        cacheManager.getCache(CacheConfig.PRODUCTS).clear();
+    }
+
+    @Test
+    void reservingMoreThanAvailableReturnsConflictAndChangesNothing() throws Exception {
+        Product before = productRepository.findById(firstId).orElseThrow();
+
+        mockMvc.perform(post("/api/products/{id}/stock/reserve", firstId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"quantity\": 11}"))
+                .andExpect(status().isConflict());
+
+        Product after = productRepository.findById(firstId).orElseThrow();
+        assertEquals(10, after.getStock());
+        assertEquals(0, after.getReservedStock());
+        assertEquals(before.getVersion(), after.getVersion());
+    }
+
+    @Test
+    void releaseAndCommitMoveReservedUnits() {
+        productStockService.reserve(List.of(change(firstId, 6)));
+        assertStock(firstId, 10, 6);
+
+        productStockService.release(List.of(change(firstId, 2)));
+        assertStock(firstId, 10, 4);
+
+        productStockService.commit(List.of(change(firstId, 3)));
+        assertStock(firstId, 7, 1);
+
+        assertThrows(InsufficientStockException.class,
+                () -> productStockService.commit(List.of(change(firstId, 2))));
+        assertStock(firstId, 7, 1);
+    }
+
+    @Test
+    void batchMergesRepeatedProductLines() {
+        productStockService.reserve(List.of(change(firstId, 4), change(secondId, 1), change(firstId, 3)));
+
+        assertStock(firstId, 10, 7);
+        assertStock(secondId, 5, 1);
+        // merged lines mean one conditional update, so one version bump, per product
+        assertEquals(1, productRepository.findById(firstId).orElseThrow().getVersion());
+    }
+
+    @Test
+    void batchFailsAsAWholeWhenAnyLineIsShort() {
+        assertThrows(InsufficientStockException.class,
+                () -> productStockService.reserve(List.of(change(firstId, 4), change(secondId, 6))));
+
+        assertStock(firstId, 10, 0);
+        assertStock(secondId, 5, 0);
+    }
+
+    @Test
+    void stockChangeBumpsVersionAndEvictsCachedProduct() {
+        productService.findById(firstId);
+        assertNotNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(firstId));
+        Long version = productRepository.findById(firstId).orElseThrow().getVersion();
+
+        productStockService.reserve(List.of(change(firstId, 1)));
+
+        assertEquals(version + 1, productRepository.findById(firstId).orElseThrow().getVersion());
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS).get(firstId));
+        assertEquals(1, productService.findById(firstId).getReservedStock());
+    }
+
+    @Test
+    void recordedSalesMoveTheTopSellerRanking() {
+        productStockService.recordSales(List.of(change(secondId, 3)));
+        productStockService.recordSales(List.of(change(firstId, 2)));
+        productStockService.recordSales(List.of(change(secondId, 1)));
+
+        List<Long> ranked = productSearchService.topSellers(categoryId, 2).stream()
+                .map(seller -> seller.getProductId())
+                .collect(Collectors.toList());
+        assertEquals(List.of(secondId, firstId), ranked);
+        assertEquals(4, productRepository.findById(secondId).orElseThrow().getSalesQuantity());
+    }
+
+    private void assertStock(Long productId, int stock, int reservedStock) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals(stock, product.getStock());
+        assertEquals(reservedStock, product.getReservedStock());
+    }
+
+    private StockChangeDTO change(Long productId, int quantity) {
+        StockChangeDTO change = new StockChangeDTO();
+        change.setProductId(productId);
+        change.setQuantity(quantity);
+        return change;
+    }
+
+    private Product newProduct(String code, int stock, Category category, Brand brand) {
+        Product product = new Product();
+        product.setCode(code);
+        product.setTitle("Product " + code);
+        product.setDescription("Description " + code);
+        product.setPrice(10.0);
+        product.setStock(stock);
+        product.setMinimumStock(1);
+        product.setStatus(true);
+        product.setWeight(1.0);
+        product.setHeight(1.0);
+        product.setWidth(1.0);
+        product.setLength(1.0);
+        product.setCategory(category);
+        product.setBrand(brand);
+        product.setCreationDate(LocalDateTime.now());
+        return product;
+    }
+
+}